@@ -0,0 +1,132 @@
+/**
+ * Target chooser for adversarial Jordle, as in Absurdle, which never commits to a target.
+ *
+ * Every answer consistent with the results so far stays possible. Each guess splits them
+ * into groups by the pattern they would give, and the adversary answers with the pattern
+ * of the largest group, keeping only that group. The split is a {@link PatternSplit} of
+ * its own, and the survivors are compacted in place at the front of the candidate int[],
+ * so a guess against the whole word list costs a few passes over the candidates and no
+ * allocation.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class Adversary {
+    private final int wordLength;
+    private final long[] answers;
+    private final int[] candidates;
+    private final PatternSplit split;
+    private int candidateCount;
+
+    // The word list the answers came from, or null for answers given directly
+    private final Dictionary dictionary;
+
+    /**
+     * Constructor for an Adversary over every answer of a word length.
+     *
+     * @param wordLength the number of letters in the answers, from 4 to 12
+     * @throws IllegalArgumentException if words.txt has no words of that length
+     */
+    public Adversary(int wordLength) {
+        this(wordLength, Dictionary.get());
+    }
+
+    private Adversary(int wordLength, Dictionary dictionary) {
+        this(wordLength, dictionary.codes(wordLength), dictionary);
+    }
+
+    /**
+     * Constructor for an Adversary over the given answers.
+     *
+     * @param wordLength the number of letters in the answers, from 4 to 12
+     * @param answers the answers packed with {@link Scorer#encode(CharSequence)}
+     * @throws IllegalArgumentException if there are no answers
+     */
+    public Adversary(int wordLength, long[] answers) {
+        this(wordLength, answers, null);
+    }
+
+    private Adversary(int wordLength, long[] answers, Dictionary dictionary) {
+        if (answers.length == 0) {
+            throw new IllegalArgumentException("words.txt has no " + wordLength + " letter words");
+        }
+        this.wordLength = wordLength;
+        this.answers = answers;
+        this.dictionary = dictionary;
+        candidates = new int[answers.length];
+        split = new PatternSplit(wordLength, answers.length);
+        reset();
+    }
+
+    /**
+     * Makes every answer possible again.
+     */
+    public void reset() {
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        candidateCount = candidates.length;
+    }
+
+    /**
+     * Answers a guess with the pattern that keeps the most answers possible, preferring any
+     * other pattern to a win and then the lowest pattern, so the same guesses always get the
+     * same answers.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @return the base-3 feedback pattern
+     */
+    public int respond(long guessCode) {
+        int allGreen = Scorer.allGreen(wordLength);
+
+        split.split(guessCode, answers, candidates, candidateCount, wordLength);
+        int best = -1;
+        int bestCount = 0;
+        for (int group = 0; group < split.groups(); group++) {
+            int pattern = split.groupPattern(group);
+            int count = split.groupSize(group);
+            boolean better = count > bestCount
+                || count == bestCount && (best == allGreen || pattern != allGreen && pattern < best);
+            if (better) {
+                best = pattern;
+                bestCount = count;
+            }
+        }
+
+        // Keep the chosen group at the front of the candidate list
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (split.pattern(i) == best) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        candidateCount = kept;
+        return best;
+    }
+
+    /**
+     * Gets an answer consistent with every pattern given so far. Once one answer is left it
+     * is the target a player has to guess.
+     *
+     * @return the answer packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long target() {
+        return answers[candidates[0]];
+    }
+
+    /**
+     * Checks whether words.txt has been reloaded since the answers were taken from it.
+     *
+     * @return true if a new Adversary would have different answers
+     */
+    public boolean isStale() {
+        return dictionary != null && dictionary != Dictionary.get();
+    }
+
+    /**
+     * @return the number of answers still possible
+     */
+    public int remaining() {
+        return candidateCount;
+    }
+}
@@ -1,69 +1,83 @@
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.Scanner;
+import java.time.LocalDate;
 
 /**
  * Backend for a Jordle game.
  *
  * Use this class to implement your Jordle application for HW09!
  *
- * DO NOT MODIFY THIS FILE!
+ * Scoring is delegated to {@link Scorer}, which works on packed word codes without
+ * allocating. {@link #check(String)} is kept as a String adapter for the UI.
+ *
+ * Targets are taken in turn from a seeded {@link DailySchedule}, so a Backend never repeats
+ * a word until every answer has been played, and a game number always gives the same word.
+ * A daily Backend only plays the day's word; later games come from a random pass, so
+ * playing on never reveals the next day's word.
+ * In adversarial mode an {@link Adversary} picks the target as the game goes instead.
  *
  * @author CS 1331 TAs
  * @version 13.31
  */
 public class Backend {
 
-    private static final int WORD_LENGTH = 5;
-    private static final char GREEN = 'g';
-    private static final char YELLOW = 'y';
-    private static final char INCORRECT = 'i';
-    private final Random rand;
-    private final List<String> words;
+    private final int wordLength;
+    private long game;
+    private boolean daily = false;
     private String target;
+    private long targetCode;
+
+    // Defers the choice of target in adversarial mode, or null
+    private Adversary adversary;
 
     /**
      * Constructor for a Jordle Backend.
      *
-     * This constructor initializes a random target word from the words.txt word bank.
+     * This constructor initializes a random target word from the shared words.txt
+     * {@link Dictionary}, which is only read once per process.
      */
     public Backend() {
-        words = getWords();
-        rand = new Random();
-        reset();
+        this(Scorer.WORD_LENGTH);
     }
 
     /**
-     * Reads in the words from the words.txt word bank.
+     * Constructor for a Jordle Backend with a different word length, starting at the
+     * beginning of a random pass through the schedule.
      *
-     * @return a list of five letter words as strings, or a list only containing "adieu" if
-     *         words.txt could not be found.
+     * @param wordLength the number of letters in the target, from 4 to 12
+     * @throws IllegalArgumentException if words.txt has no words of that length
+     */
+    public Backend(int wordLength) {
+        this(wordLength, DailySchedule.shared(wordLength).randomPass());
+    }
+
+    /**
+     * Constructor for a Jordle Backend that plays the schedule from a given game, so the
+     * same game number always gives the same targets.
      *
+     * @param wordLength the number of letters in the target, from 4 to 12
+     * @param game the game number of the first target
+     * @throws IllegalArgumentException if words.txt has no words of that length
      */
-    private List<String> getWords() {
-        List<String> lines = new ArrayList<>();
-        File file = new File("words.txt");
-        Scanner scan = null;
-        try {
-            scan = new Scanner(file);
-            while (scan.hasNextLine()) {
-                String line = scan.nextLine();
-                if (line.length() == WORD_LENGTH) {
-                    lines.add(line.toLowerCase());
-                }
-            }
-        } catch (FileNotFoundException fnfe) {
-            System.out.println("Error in reading words.txt: " + fnfe.getMessage());
-            lines.add("adieu");
-        } finally {
-            if (scan != null) {
-                scan.close();
-            }
+    public Backend(int wordLength, long game) {
+        if (Dictionary.get().size(wordLength) == 0) {
+            throw new IllegalArgumentException("words.txt has no " + wordLength + " letter words");
         }
-        return lines;
+        this.wordLength = wordLength;
+        this.game = game;
+        reset();
+    }
+
+    /**
+     * Creates a Backend whose first target is the daily word of a day.
+     *
+     * @param wordLength the number of letters in the target, from 4 to 12
+     * @param date the day
+     * @return the Backend
+     * @throws IllegalArgumentException if words.txt has no words of that length
+     */
+    public static Backend daily(int wordLength, LocalDate date) {
+        Backend backend = new Backend(wordLength, DailySchedule.day(date));
+        backend.daily = true;
+        return backend;
     }
 
     /**
@@ -71,62 +85,151 @@ public class Backend {
      * You should call this method whenever you need to reset a Jordle game.
      */
     public void reset() {
-        target = words.get(rand.nextInt(words.size()));
+        DailySchedule schedule = DailySchedule.shared(wordLength);
+        if (daily) {
+            // The next game number is tomorrow's word, so move to a random pass instead
+            game = schedule.randomPass();
+            daily = false;
+        }
+        targetCode = schedule.code(game++);
+        if (adversary != null) {
+            // Follow a reloaded words.txt, as the schedule does
+            if (adversary.isStale()) {
+                adversary = new Adversary(wordLength);
+            }
+            adversary.reset();
+            targetCode = adversary.target();
+        }
+        target = Scorer.decode(targetCode);
+    }
+
+    /**
+     * Turns adversarial mode, as in Absurdle, on or off and starts a new game. In
+     * adversarial mode every guess gets the result that keeps the most answers possible,
+     * and the target is only settled once a single answer is left.
+     *
+     * @param adversarial true to defer the target
+     */
+    public void setAdversarial(boolean adversarial) {
+        adversary = adversarial ? new Adversary(wordLength) : null;
+        reset();
+    }
+
+    /**
+     * @return true if the Backend is in adversarial mode
+     */
+    public boolean isAdversarial() {
+        return adversary != null;
+    }
+
+    /**
+     * Plays a fixed target instead of the schedule's, for replaying logged games. The next
+     * {@link #reset()} goes back to the schedule.
+     *
+     * @param targetCode the target packed with {@link Scorer#encode(CharSequence)}
+     * @throws IllegalArgumentException if the target is not a word of this Backend's length
+     */
+    void setTarget(long targetCode) {
+        if (targetCode < 0 || Scorer.length(targetCode) != wordLength) {
+            throw new IllegalArgumentException("Target is not a " + wordLength + " letter word");
+        }
+        this.targetCode = targetCode;
+        target = null;
     }
 
     /**
      * Method to check the correctness of your Jordle guesses. This method is case-insensitive.
      *
      * @param word the word to guess
-     * @return a five-letter String made up of 'g', 'y', or 'i's corresponding to the
+     * @return a String, one letter per target letter, made up of 'g', 'y', or 'i's corresponding to the
      *         correctness of the guess against the target.
      *         A 'g' indicates that the correct letter is in the correct position.
      *         A 'y' indicates that a correct letter is in the incorrect position.
      *         A 'i' indicates that the letter is not in the target word.
-     * @throws InvalidGuessException if the word is not a valid Jordle guess.
+     * @throws InvalidGuessException if the word is not a valid Jordle guess or is not in the
+     *                               {@link Dictionary}'s allowed guesses.
      *
      */
     public String check(String word) throws InvalidGuessException {
-        if (word == null || word.length() != WORD_LENGTH || word.isBlank()) {
+        long start = Metrics.now();
+        if (word == null || word.length() != wordLength || word.isBlank()) {
+            Metrics.INVALID_GUESSES.increment();
             throw new InvalidGuessException(word);
         }
-        word = word.toLowerCase();
-        char[] targetArray = target.toCharArray();
-        char[] result = new char[WORD_LENGTH];
-
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            result[i] = INCORRECT;
+        long code = Scorer.encode(word);
+        if (code < 0 || !Dictionary.get().isAllowed(code)) {
+            Metrics.INVALID_GUESSES.increment();
+            throw new InvalidGuessException(word);
         }
+        String result = Scorer.toString(score(code), wordLength);
+        Metrics.GUESSES.increment();
+        Metrics.CHECK.recordSince(start);
+        return result;
+    }
 
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (word.charAt(i) == targetArray[i]) {
-                result[i] = GREEN;
-                targetArray[i] = 0;
-            }
-        }
+    /**
+     * Allocation-free version of {@link #check(String)} for solvers and simulations.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @return the base-3 feedback pattern of the guess against the target
+     */
+    public int checkPattern(long guessCode) {
+        return score(guessCode);
+    }
 
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (result[i] == INCORRECT) {
-                for (int j = 0; j < WORD_LENGTH; j++) {
-                    if (word.charAt(i) == targetArray[j]) {
-                        result[i] = YELLOW;
-                        targetArray[j] = 0;
-                        break;
-                    }
-                }
-            }
+    /**
+     * Scores a guess against the target or, in adversarial mode, lets the adversary answer
+     * it and follows the adversary's choice of target.
+     */
+    private int score(long guessCode) {
+        if (adversary == null) {
+            return Scorer.score(guessCode, targetCode, wordLength);
         }
-
-        return String.valueOf(result);
+        int pattern = adversary.respond(guessCode);
+        targetCode = adversary.target();
+        target = null;
+        return pattern;
     }
 
     /**
-     * Getter for the target word.
+     * Getter for the target word. In adversarial mode this is one answer still possible,
+     * which may change with every guess until one is left.
      *
      * @return the target word
      */
     public String getTarget() {
+        // Decoded on demand, so replaying logged games does not build a String per game
+        if (target == null) {
+            target = Scorer.decode(targetCode);
+        }
         return target;
     }
 
+    /**
+     * Getter for the packed target word.
+     *
+     * @return the target packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long getTargetCode() {
+        return targetCode;
+    }
+
+    /**
+     * Getter for the game number of the target, which is the day number for daily words.
+     *
+     * @return the game number
+     */
+    public long getGame() {
+        return game - 1;
+    }
+
+    /**
+     * Getter for the word length.
+     *
+     * @return the number of letters in the target
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
 }
\ No newline at end of file
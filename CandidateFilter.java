@@ -0,0 +1,166 @@
+/**
+ * Bitset index over a word list for tracking which words are consistent with feedback.
+ *
+ * Each word is one bit. The index keeps one bitset per (position, letter) and one per
+ * (letter, minimum count), so every feedback constraint is applied to the live set with
+ * a few word-wide AND / AND NOT operations instead of rescoring each word.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class CandidateFilter {
+    private static final int LETTERS = 26;
+
+    private final int wordLength;
+    private final int size;
+    private final long[][] atPosition;
+    private final long[][] atLeast;
+    private final long[] live;
+
+    /**
+     * Constructor for a CandidateFilter over the given words.
+     *
+     * @param wordLength the length of every word
+     * @param codes the words packed with {@link Scorer#encode(CharSequence)}
+     */
+    public CandidateFilter(int wordLength, long[] codes) {
+        this.wordLength = wordLength;
+        size = codes.length;
+        int blocks = (size + 63) >>> 6;
+        atPosition = new long[wordLength * LETTERS][blocks];
+        atLeast = new long[LETTERS * wordLength][blocks];
+        live = new long[blocks];
+
+        int[] counts = new int[LETTERS];
+        for (int w = 0; w < size; w++) {
+            long bit = 1L << w;
+            int block = w >>> 6;
+            for (int i = 0; i < wordLength; i++) {
+                int letter = Scorer.letter(codes[w], i) - 1;
+                atPosition[i * LETTERS + letter][block] |= bit;
+                // A word with n copies of a letter is in the at-least-1 ... at-least-n sets
+                atLeast[letter * wordLength + counts[letter]][block] |= bit;
+                counts[letter]++;
+            }
+            for (int i = 0; i < wordLength; i++) {
+                counts[Scorer.letter(codes[w], i) - 1] = 0;
+            }
+        }
+        reset();
+    }
+
+    /**
+     * Marks every word as live again.
+     */
+    public void reset() {
+        for (int b = 0; b < live.length; b++) {
+            live[b] = -1L;
+        }
+        if ((size & 63) != 0) {
+            live[live.length - 1] = (1L << size) - 1;
+        }
+    }
+
+    /**
+     * Removes every word inconsistent with a guess and its feedback.
+     *
+     * @param guessCode the packed guess
+     * @param pattern the base-3 feedback pattern
+     */
+    public void apply(long guessCode, int pattern) {
+        // Position constraints: a green pins the letter, anything else rules it out
+        for (int i = 0; i < wordLength; i++) {
+            long[] set = atPosition[i * LETTERS + Scorer.letter(guessCode, i) - 1];
+            if (Scorer.digit(pattern, i) == Scorer.GREEN) {
+                and(set);
+            } else {
+                andNot(set);
+            }
+        }
+
+        // Count constraints, once per distinct letter in the guess
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Scorer.letter(guessCode, i);
+            boolean seen = false;
+            for (int j = 0; j < i && !seen; j++) {
+                seen = Scorer.letter(guessCode, j) == letter;
+            }
+            if (seen) {
+                continue;
+            }
+
+            int marked = 0;
+            boolean capped = false;
+            for (int j = i; j < wordLength; j++) {
+                if (Scorer.letter(guessCode, j) == letter) {
+                    if (Scorer.digit(pattern, j) == Scorer.INCORRECT) {
+                        capped = true;
+                    } else {
+                        marked++;
+                    }
+                }
+            }
+
+            int base = (letter - 1) * wordLength;
+            if (marked > 0) {
+                and(atLeast[base + marked - 1]);
+            }
+            // A gray copy means the target has exactly the marked number of this letter
+            if (capped && marked < wordLength) {
+                andNot(atLeast[base + marked]);
+            }
+        }
+    }
+
+    private void and(long[] set) {
+        for (int b = 0; b < live.length; b++) {
+            live[b] &= set[b];
+        }
+    }
+
+    private void andNot(long[] set) {
+        for (int b = 0; b < live.length; b++) {
+            live[b] &= ~set[b];
+        }
+    }
+
+    /**
+     * @return the number of live words
+     */
+    public int count() {
+        int count = 0;
+        for (long block : live) {
+            count += Long.bitCount(block);
+        }
+        return count;
+    }
+
+    /**
+     * @param word the word index
+     * @return true if the word is still live
+     */
+    public boolean contains(int word) {
+        return (live[word >>> 6] & (1L << word)) != 0;
+    }
+
+    /**
+     * Finds the next live word, for iterating with {@code for (w = next(0); w >= 0; w = next(w + 1))}.
+     *
+     * @param from the first word index to consider
+     * @return the index of the next live word, or -1 if there is none
+     */
+    public int next(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int b = from >>> 6;
+        long block = live[b] & (-1L << from);
+        while (block == 0) {
+            if (++b == live.length) {
+                return -1;
+            }
+            block = live[b];
+        }
+        return (b << 6) + Long.numberOfTrailingZeros(block);
+    }
+}
@@ -0,0 +1,167 @@
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Deterministic order in which the answers of one word length are played.
+ *
+ * The answers are shuffled once from a seed, so every machine with the same words.txt and
+ * seed agrees on the word for any game number without talking to each other; day n since
+ * {@link #EPOCH} plays game n. {@link java.util.Random} is specified to produce the same
+ * sequence for a seed on every JVM, which keeps the shuffle portable.
+ *
+ * Each pass through the list, starting at a multiple of its size, plays every answer
+ * exactly once. Later passes reuse the precomputed shuffle with a second shuffled offset,
+ * so any game number maps to its word in O(1) and each pass comes out in a different order.
+ *
+ * Negative game numbers, which no day since the epoch reaches, play a second shuffle drawn
+ * from the same seed. {@link #randomPass()} starts games there, far below zero, so a
+ * random game never plays the daily order and cannot give away a coming day's word.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class DailySchedule {
+    public static final LocalDate EPOCH = LocalDate.of(2022, 1, 1);
+    public static final long DEFAULT_SEED = 1331;
+
+    // Shared schedules with the default seed, indexed by word length
+    private static final AtomicReferenceArray<DailySchedule> SHARED =
+        new AtomicReferenceArray<>(Scorer.MAX_LENGTH + 1);
+
+    private final Dictionary dictionary;
+    private final long[] order;
+    private final int[] offsets;
+
+    // The shuffle of the negative game numbers
+    private final long[] randomOrder;
+    private final int[] randomOffsets;
+
+    /**
+     * Constructor for a DailySchedule.
+     *
+     * @param dictionary the dictionary holding the answers
+     * @param wordLength the number of letters in the answers
+     * @param seed the seed of the shuffle; schedules with the same seed and words agree
+     * @throws IllegalArgumentException if the dictionary has no words of that length
+     */
+    public DailySchedule(Dictionary dictionary, int wordLength, long seed) {
+        if (dictionary.size(wordLength) == 0) {
+            throw new IllegalArgumentException("words.txt has no " + wordLength + " letter words");
+        }
+        this.dictionary = dictionary;
+        Random rand = new Random(seed);
+        order = dictionary.codes(wordLength);
+        offsets = new int[order.length];
+        shuffle(order, offsets, rand);
+
+        // Drawn after the daily shuffle, which stays the same as without it
+        randomOrder = dictionary.codes(wordLength);
+        randomOffsets = new int[order.length];
+        shuffle(randomOrder, randomOffsets, rand);
+    }
+
+    /**
+     * Fisher-Yates shuffles of the answers and of the per-pass offsets.
+     */
+    private static void shuffle(long[] codes, int[] offsets, Random rand) {
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i;
+        }
+        for (int i = codes.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            long code = codes[i];
+            codes[i] = codes[j];
+            codes[j] = code;
+        }
+        for (int i = offsets.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int offset = offsets[i];
+            offsets[i] = offsets[j];
+            offsets[j] = offset;
+        }
+    }
+
+    /**
+     * Gets the schedule with the default seed for the current {@link Dictionary}, building it
+     * again after the word list is reloaded.
+     *
+     * @param wordLength the number of letters in the answers
+     * @return the shared schedule
+     * @throws IllegalArgumentException if words.txt has no words of that length
+     */
+    public static DailySchedule shared(int wordLength) {
+        Dictionary dictionary = Dictionary.get();
+        DailySchedule schedule = SHARED.get(wordLength);
+        if (schedule == null || schedule.dictionary != dictionary) {
+            // Racing threads build equal schedules, so either one may win
+            schedule = new DailySchedule(dictionary, wordLength, DEFAULT_SEED);
+            SHARED.set(wordLength, schedule);
+        }
+        return schedule;
+    }
+
+    /**
+     * Picks the first game of a random pass, for games that do not need to be reproduced.
+     * Playing on from there does not repeat a word until the whole pass has been played,
+     * and takes billions of passes to reach the daily games.
+     *
+     * @return a random negative multiple of the pass size
+     */
+    public long randomPass() {
+        return ((long) Integer.MIN_VALUE + ThreadLocalRandom.current().nextInt(order.length)) * order.length;
+    }
+
+    /**
+     * Gets the answer of a game.
+     *
+     * @param game the game number, which may be any long
+     * @return the answer packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long code(long game) {
+        int n = order.length;
+        long pass = Math.floorDiv(game, n);
+        int position = Math.floorMod(game, n);
+        if (game < 0) {
+            return randomOrder[Math.floorMod(randomOffsets[position] + pass, n)];
+        }
+        return order[Math.floorMod(offsets[position] + pass, n)];
+    }
+
+    /**
+     * Gets the answer of a game.
+     *
+     * @param game the game number, which may be any long
+     * @return the answer as a lowercase String
+     */
+    public String word(long game) {
+        return Scorer.decode(code(game));
+    }
+
+    /**
+     * @return the number of answers in one pass
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Gets the game number of a day.
+     *
+     * @param date the day
+     * @return the number of days since {@link #EPOCH}
+     */
+    public static long day(LocalDate date) {
+        return ChronoUnit.DAYS.between(EPOCH, date);
+    }
+
+    /**
+     * @return the game number of the current day in UTC
+     */
+    public static long today() {
+        return day(LocalDate.now(ZoneOffset.UTC));
+    }
+}
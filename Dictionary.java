@@ -0,0 +1,351 @@
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+
+/**
+ * Process-wide, immutable word bank shared by every Backend.
+ *
+ * words.txt is read once with NIO on first use and kept as packed long[] word codes rather
+ * than a list of Strings, indexed by word length (4 to 12 letters) in the same pass. A
+ * daemon thread watches the file and swaps in a freshly loaded Dictionary when it changes,
+ * so running games keep their snapshot and new games pick up the new words.
+ *
+ * When there is a guesses.txt, guesses are checked against a separate allowed list: the
+ * answers plus guesses.txt, kept as one sorted long[] per length and searched with a
+ * binary search. About 13,000 five letter guesses take roughly 100 KB. Without one, any
+ * word of a length with answers may be guessed, since the answers alone are far too few.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class Dictionary {
+    private static final Path FILE = Paths.get("words.txt");
+    private static final Path GUESS_FILE = Paths.get("guesses.txt");
+    private static final String FALLBACK = "adieu";
+
+    private static volatile Dictionary current;
+
+    private static final long[] NONE = new long[0];
+
+    // Packed words indexed by length
+    private final long[][] codes;
+
+    // Sorted packed allowed guesses indexed by length, or null to allow any word
+    private final long[][] allowed;
+
+    private Dictionary(long[][] codes, long[][] allowed) {
+        this.codes = codes;
+        this.allowed = allowed;
+    }
+
+    /**
+     * Gets the shared Dictionary, loading words.txt and starting the reload watcher on first use.
+     *
+     * @return the current Dictionary
+     */
+    public static Dictionary get() {
+        Dictionary dictionary = current;
+        if (dictionary == null) {
+            synchronized (Dictionary.class) {
+                dictionary = current;
+                if (dictionary == null) {
+                    dictionary = load();
+                    current = dictionary;
+                    watch();
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Reads and parses words.txt, and guesses.txt if there is one.
+     *
+     * @return a Dictionary of the words in words.txt, with only "adieu" as a five letter
+     *         word if words.txt could not be read or has no five letter words.
+     */
+    static Dictionary load() {
+        return load(FILE, GUESS_FILE);
+    }
+
+    /**
+     * Reads and parses a word list with one word per line, without a guess list. Unlike
+     * {@link #get()}, the result is not shared or watched.
+     *
+     * @param file the word list
+     * @return a Dictionary of the words in the file, with only "adieu" as a five letter
+     *         word if the file could not be read or has no five letter words.
+     */
+    static Dictionary load(Path file) {
+        return load(file, null);
+    }
+
+    /**
+     * Reads and parses a word list and an allowed guess list, both with one word per line.
+     *
+     * @param file the word list
+     * @param guessFile the allowed guesses besides the answers, or null for none. Without
+     *                  the file, any word may be guessed.
+     * @return a Dictionary of the words in the file, with only "adieu" as a five letter
+     *         word if the file could not be read or has no five letter words.
+     */
+    static Dictionary load(Path file, Path guessFile) {
+        long[][] codes = parse(file);
+        if (codes == null) {
+            return fallback();
+        }
+        if (codes[Scorer.WORD_LENGTH].length == 0) {
+            System.out.println("Error in reading " + file + ": no five letter words");
+            codes[Scorer.WORD_LENGTH] = new long[] {Scorer.encode(FALLBACK)};
+        }
+
+        long[][] guesses = guessFile != null && Files.exists(guessFile) ? parse(guessFile) : null;
+        if (guesses == null) {
+            return new Dictionary(codes, null);
+        }
+        long[][] allowed = new long[Scorer.MAX_LENGTH + 1][];
+        for (int length = 0; length <= Scorer.MAX_LENGTH; length++) {
+            allowed[length] = sortedUnion(codes[length], guesses[length]);
+        }
+        return new Dictionary(codes, allowed);
+    }
+
+    /**
+     * Merges two word lists into one sorted array without duplicates.
+     *
+     * @param a the first packed words
+     * @param b the second packed words
+     * @return the sorted distinct words of both
+     */
+    private static long[] sortedUnion(long[] a, long[] b) {
+        long[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (size == 0 || all[i] != all[size - 1]) {
+                all[size++] = all[i];
+            }
+        }
+        return size == all.length ? all : Arrays.copyOf(all, size);
+    }
+
+    /**
+     * Reads a word list into packed codes bucketed by length.
+     *
+     * @param file the word list
+     * @return the packed words indexed by length, or null if the file could not be read
+     */
+    private static long[][] parse(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException ioe) {
+            System.out.println("Error in reading " + file + ": " + ioe.getMessage());
+            return null;
+        }
+
+        // Parse the bytes directly into codes, one word per line, bucketed by length
+        long[][] codes = new long[Scorer.MAX_LENGTH + 1][];
+        int[] counts = new int[Scorer.MAX_LENGTH + 1];
+        for (int length = Scorer.MIN_LENGTH; length <= Scorer.MAX_LENGTH; length++) {
+            codes[length] = new long[16];
+        }
+        long code = 0;
+        int length = 0;
+        boolean valid = true;
+        for (int i = 0; i <= bytes.length; i++) {
+            int c = i < bytes.length ? bytes[i] : '\n';
+            if (c == '\n') {
+                if (valid && length >= Scorer.MIN_LENGTH && length <= Scorer.MAX_LENGTH) {
+                    if (counts[length] == codes[length].length) {
+                        codes[length] = Arrays.copyOf(codes[length], counts[length] * 2);
+                    }
+                    codes[length][counts[length]++] = code;
+                }
+                code = 0;
+                length = 0;
+                valid = true;
+            } else if (c != '\r') {
+                int letter = (c | 0x20) - 'a' + 1;
+                if (letter < 1 || letter > 26 || length == Scorer.MAX_LENGTH) {
+                    valid = false;
+                } else {
+                    code |= (long) letter << (5 * length);
+                }
+                length++;
+            }
+        }
+
+        for (length = 0; length <= Scorer.MAX_LENGTH; length++) {
+            codes[length] = counts[length] == 0 ? NONE : Arrays.copyOf(codes[length], counts[length]);
+        }
+        return codes;
+    }
+
+    /**
+     * @return a Dictionary only containing "adieu"
+     */
+    private static Dictionary fallback() {
+        long[][] codes = new long[Scorer.MAX_LENGTH + 1][];
+        Arrays.fill(codes, NONE);
+        codes[Scorer.WORD_LENGTH] = new long[] {Scorer.encode(FALLBACK)};
+        return new Dictionary(codes, null);
+    }
+
+    /**
+     * Starts the daemon thread that reloads the Dictionary whenever words.txt or guesses.txt
+     * changes.
+     */
+    private static void watch() {
+        Path dir = FILE.toAbsolutePath().getParent();
+        WatchService watcher;
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ioe) {
+            System.out.println("Error in watching words.txt: " + ioe.getMessage());
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            while (true) {
+                WatchKey key;
+                try {
+                    key = watcher.take();
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= FILE.getFileName().equals(event.context())
+                        || GUESS_FILE.getFileName().equals(event.context());
+                }
+                if (changed) {
+                    current = load();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        }, "dictionary-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param length the word length
+     * @return the number of words with that length
+     */
+    public int size(int length) {
+        return length <= Scorer.MAX_LENGTH ? codes[length].length : 0;
+    }
+
+    /**
+     * @param length the word length
+     * @param index the word index
+     * @return the word packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long code(int length, int index) {
+        return codes[length][index];
+    }
+
+    /**
+     * @param length the word length
+     * @param index the word index
+     * @return the word as a lowercase String
+     */
+    public String word(int length, int index) {
+        return Scorer.decode(codes[length][index]);
+    }
+
+    /**
+     * @param length the word length
+     * @return a copy of every packed word with that length, in file order
+     */
+    public long[] codes(int length) {
+        return codes[length].clone();
+    }
+
+    /**
+     * Checks whether a word may be guessed, with a binary search of the allowed guesses.
+     * The search halves a window of fixed size each step, so the loop has no data-dependent
+     * branch to mispredict and the JIT can use a conditional move.
+     *
+     * @param code the word packed with {@link Scorer#encode(CharSequence)}
+     * @return true if the word is an answer or in guesses.txt, or if there is no
+     *         guesses.txt and answers of its length exist
+     */
+    public boolean isAllowed(long code) {
+        if (code <= 0) {
+            return false;
+        }
+        int length = Scorer.length(code);
+        if (length > Scorer.MAX_LENGTH) {
+            return false;
+        }
+        if (allowed == null) {
+            return codes[length].length > 0;
+        }
+        if (allowed[length].length == 0) {
+            return false;
+        }
+        long[] words = allowed[length];
+        int base = 0;
+        int n = words.length;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = words[base + half] <= code ? base + half : base;
+            n -= half;
+        }
+        return words[base] == code;
+    }
+
+    /**
+     * @param length the word length
+     * @return the number of allowed guesses with that length, or -1 if any word is allowed
+     */
+    public int allowedSize(int length) {
+        if (allowed == null) {
+            return -1;
+        }
+        return length <= Scorer.MAX_LENGTH ? allowed[length].length : 0;
+    }
+
+    /**
+     * @return the number of five letter words
+     */
+    public int size() {
+        return size(Scorer.WORD_LENGTH);
+    }
+
+    /**
+     * @param index the word index
+     * @return the five letter word packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long code(int index) {
+        return code(Scorer.WORD_LENGTH, index);
+    }
+
+    /**
+     * @param index the word index
+     * @return the five letter word as a lowercase String
+     */
+    public String word(int index) {
+        return word(Scorer.WORD_LENGTH, index);
+    }
+
+    /**
+     * @return a copy of every packed five letter word, in file order
+     */
+    public long[] codes() {
+        return codes(Scorer.WORD_LENGTH);
+    }
+}
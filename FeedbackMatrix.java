@@ -0,0 +1,368 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed feedback table for every (guess, answer) pair.
+ *
+ * Cells are one byte for words of up to 5 letters, two bytes up to 10 letters and four bytes
+ * beyond that. The table is built in parallel the first time a word list is seen and saved
+ * next to words.txt as feedback-&lt;key&gt;.bin, where the key is a hash of the word lists.
+ * Later startups memory-map the saved file instead of recomputing it.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class FeedbackMatrix {
+    private static final int MAGIC = 0x4A464D58; // "JFMX"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+
+    private final int wordLength;
+    private final int cellBytes;
+    private final long[] guessCodes;
+    private final long[] answerCodes;
+    private final long[] sortedGuessCodes;
+    private final int[] sortedGuessIndex;
+    private final int[] answerOfGuess;
+    private final ByteBuffer cells;
+    private final long key;
+
+    private FeedbackMatrix(int wordLength, long[] guessCodes, long[] answerCodes, ByteBuffer cells, long key) {
+        this.wordLength = wordLength;
+        this.key = key;
+        this.cellBytes = cellBytes(wordLength);
+        this.guessCodes = guessCodes;
+        this.answerCodes = answerCodes;
+        this.cells = cells;
+
+        // Sorted copy of the guess codes for indexOfGuess lookups
+        Integer[] order = new Integer[guessCodes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(guessCodes[a], guessCodes[b]));
+        sortedGuessCodes = new long[order.length];
+        sortedGuessIndex = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedGuessIndex[i] = order[i];
+            sortedGuessCodes[i] = guessCodes[order[i]];
+        }
+
+        // Map each guess to the answer with the same word, if there is one
+        answerOfGuess = new int[guessCodes.length];
+        Arrays.fill(answerOfGuess, -1);
+        for (int a = 0; a < answerCodes.length; a++) {
+            int guess = indexOfGuess(answerCodes[a]);
+            if (guess >= 0) {
+                answerOfGuess[guess] = a;
+            }
+        }
+    }
+
+    /**
+     * Loads the matrix for the five letter words of the shared words.txt Dictionary, using
+     * them as both guesses and answers.
+     *
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix load() {
+        return load(Scorer.WORD_LENGTH);
+    }
+
+    /**
+     * Loads the matrix for the words of one length in the shared words.txt Dictionary, using
+     * them as both guesses and answers.
+     *
+     * @param wordLength the word length
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix load(int wordLength) {
+        return load(Dictionary.get(), wordLength);
+    }
+
+    /**
+     * Loads the matrix for the words of one length in a Dictionary, using them as both
+     * guesses and answers.
+     *
+     * @param dictionary the word list
+     * @param wordLength the word length
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix load(Dictionary dictionary, int wordLength) {
+        long[] codes = dictionary.codes(wordLength);
+        return load(wordLength, codes, codes, Paths.get("."));
+    }
+
+    /**
+     * Loads the matrix for the given word lists, reusing a cached file in the given directory
+     * when one exists for the same lists, and building and saving it otherwise.
+     *
+     * @param guesses the words that may be guessed
+     * @param answers the words that may be the target
+     * @param cacheDir the directory holding cached matrix files
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix load(List<String> guesses, List<String> answers, Path cacheDir) {
+        return load(answers.get(0).length(), encodeAll(guesses), encodeAll(answers), cacheDir);
+    }
+
+    /**
+     * Loads the matrix for the given packed word lists, reusing a cached file in the given
+     * directory when one exists for the same lists, and building and saving it otherwise.
+     *
+     * @param wordLength the length of every guess and answer
+     * @param guessCodes the packed words that may be guessed
+     * @param answerCodes the packed words that may be the target
+     * @param cacheDir the directory holding cached matrix files
+     * @return the feedback matrix
+     * @throws IllegalArgumentException if the table would not fit in one array
+     */
+    public static FeedbackMatrix load(int wordLength, long[] guessCodes, long[] answerCodes, Path cacheDir) {
+        long tableBytes = (long) guessCodes.length * answerCodes.length * cellBytes(wordLength);
+        if (tableBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(guessCodes.length + " guesses by " + answerCodes.length
+                + " answers is too large for a feedback matrix");
+        }
+        long key = key(wordLength, guessCodes, answerCodes);
+        Path file = cacheDir.resolve(String.format("feedback-%016x.bin", key));
+
+        ByteBuffer cells = map(file, wordLength, guessCodes.length, answerCodes.length, key);
+        if (cells == null) {
+            byte[] table = build(wordLength, guessCodes, answerCodes);
+            cells = save(file, table, wordLength, guessCodes.length, answerCodes.length, key);
+        }
+        return new FeedbackMatrix(wordLength, guessCodes, answerCodes, cells, key);
+    }
+
+    /**
+     * Gets the cell width used for a word length.
+     *
+     * @param wordLength the word length
+     * @return the smallest number of bytes, 1, 2 or 4, that holds every pattern
+     */
+    static int cellBytes(int wordLength) {
+        int max = Scorer.allGreen(wordLength);
+        return max <= 0xFF ? 1 : max <= 0xFFFF ? 2 : 4;
+    }
+
+    /**
+     * Computes every cell of the table, one guess row per fork-join task.
+     *
+     * @return the table in guess-major order, little-endian cells
+     */
+    private static byte[] build(int wordLength, long[] guessCodes, long[] answerCodes) {
+        int answerCount = answerCodes.length;
+        int width = cellBytes(wordLength);
+        byte[] table = new byte[guessCodes.length * answerCount * width];
+        IntStream.range(0, guessCodes.length).parallel().forEach(g -> {
+            long guess = guessCodes[g];
+            int base = g * answerCount * width;
+            for (int a = 0; a < answerCount; a++) {
+                int pattern = Scorer.score(guess, answerCodes[a], wordLength);
+                for (int b = 0; b < width; b++) {
+                    table[base + a * width + b] = (byte) (pattern >>> (8 * b));
+                }
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Memory-maps a cached matrix file if it exists and matches the expected shape and key.
+     *
+     * @return the mapped cells, or null if the file is missing or stale
+     */
+    private static ByteBuffer map(Path file, int wordLength, int guessCount, int answerCount, long key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long tableBytes = (long) guessCount * answerCount * cellBytes(wordLength);
+            if (channel.size() != HEADER_BYTES + tableBytes) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != guessCount || header.getInt() != answerCount
+                    || header.getLong() != key || header.getInt() != wordLength) {
+                return null;
+            }
+            MappedByteBuffer cells = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, tableBytes);
+            cells.order(ByteOrder.LITTLE_ENDIAN);
+            return cells;
+        } catch (IOException ioe) {
+            System.out.println("Error in reading " + file + ": " + ioe.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a freshly built table to disk and maps it back. Falls back to the in-memory
+     * table if the cache file cannot be written.
+     *
+     * @return the cells to serve lookups from
+     */
+    private static ByteBuffer save(Path file, byte[] table, int wordLength, int guessCount, int answerCount,
+            long key) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(guessCount).putInt(answerCount).putLong(key).putInt(wordLength);
+        header.clear();
+        ByteBuffer memory = ByteBuffer.wrap(table).order(ByteOrder.LITTLE_ENDIAN);
+
+        Path tmp = null;
+        try {
+            // Write to a temporary file first so a crash never leaves a half-written cache
+            tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "feedback-", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = {header, ByteBuffer.wrap(table)};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            System.out.println("Error in writing " + file + ": " + ioe.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException deleteError) {
+                    System.out.println("Error in deleting " + tmp + ": " + deleteError.getMessage());
+                }
+            }
+            return memory;
+        }
+
+        ByteBuffer cells = map(file, wordLength, guessCount, answerCount, key);
+        return cells != null ? cells : memory;
+    }
+
+    /**
+     * Hashes the packed word lists so a cache file is only reused for the same words.
+     */
+    private static long key(int wordLength, long[] guessCodes, long[] answerCodes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(8 * (guessCodes.length + answerCodes.length) + 12);
+            buffer.putInt(wordLength);
+            buffer.putInt(guessCodes.length);
+            for (long code : guessCodes) {
+                buffer.putLong(code);
+            }
+            buffer.putInt(answerCodes.length);
+            for (long code : answerCodes) {
+                buffer.putLong(code);
+            }
+            digest.update(buffer.array());
+            digest.update(("v" + VERSION).getBytes(StandardCharsets.US_ASCII));
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private static long[] encodeAll(List<String> words) {
+        long[] codes = new long[words.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = Scorer.encode(words.get(i));
+        }
+        return codes;
+    }
+
+    /**
+     * Gets the feedback pattern for a guess against an answer.
+     *
+     * @param guess the guess index
+     * @param answer the answer index
+     * @return the base-3 feedback pattern
+     */
+    public int pattern(int guess, int answer) {
+        int index = guess * answerCodes.length + answer;
+        if (cellBytes == 1) {
+            return cells.get(index) & 0xFF;
+        } else if (cellBytes == 2) {
+            return cells.getShort(index * 2) & 0xFFFF;
+        }
+        return cells.getInt(index * 4);
+    }
+
+    /**
+     * Finds the index of a packed guess.
+     *
+     * @param code the packed guess
+     * @return the guess index, or -1 if the word is not a guess in this matrix
+     */
+    public int indexOfGuess(long code) {
+        int i = Arrays.binarySearch(sortedGuessCodes, code);
+        return i < 0 ? -1 : sortedGuessIndex[i];
+    }
+
+    /**
+     * Finds the answer that is the same word as a guess.
+     *
+     * @param guess the guess index
+     * @return the answer index, or -1 if the guess cannot be the target
+     */
+    public int answerOfGuess(int guess) {
+        return answerOfGuess[guess];
+    }
+
+    /**
+     * @return the hash of the word lists, which names the cache file
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * @return the length of every guess and answer
+     */
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * @return the number of guess rows
+     */
+    public int guessCount() {
+        return guessCodes.length;
+    }
+
+    /**
+     * @return the number of answer columns
+     */
+    public int answerCount() {
+        return answerCodes.length;
+    }
+
+    /**
+     * @param guess the guess index
+     * @return the packed guess
+     */
+    public long guessCode(int guess) {
+        return guessCodes[guess];
+    }
+
+    /**
+     * @param answer the answer index
+     * @return the packed answer
+     */
+    public long answerCode(int answer) {
+        return answerCodes[answer];
+    }
+}
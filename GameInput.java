@@ -0,0 +1,24 @@
+/**
+ * Game input actions shared by the physical keyboard and the on-screen {@link Keyboard}.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public interface GameInput {
+    /**
+     * Types a letter into the current row.
+     *
+     * @param c the letter, case-insensitive
+     */
+    void letter(char c);
+
+    /**
+     * Submits the current row as a guess.
+     */
+    void enter();
+
+    /**
+     * Erases the last letter of the current row.
+     */
+    void erase();
+}
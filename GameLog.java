@@ -0,0 +1,504 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Append-only binary log of finished Jordle games.
+ *
+ * A log starts with an 8 byte header (magic, version) followed by one record per game, all
+ * little-endian:
+ *
+ *   u8  word length
+ *   u8  number of guesses
+ *   i64 start time, epoch milliseconds
+ *   target code, (5 * length + 7) / 8 bytes
+ *   per guess: code, (5 * length + 7) / 8 bytes
+ *              pattern, 1 byte up to 5 letters, 2 up to 10 and 4 above
+ *              i32 milliseconds since the start of the game
+ *
+ * A five letter game of four guesses takes 50 bytes. Records are written through a direct
+ * buffer to a {@link FileChannel} and fsynced in batches, and read back one at a time into
+ * a reused {@link Record}, so logs of any size stream through a fixed amount of memory.
+ *
+ * Usage: java GameLog log-file [stats|replay]
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class GameLog {
+    private static final int MAGIC = 0x4C47524A; // "JRGL" in little-endian
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 10;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    // A batch is fsynced once it holds this many games or is this old, whichever comes first
+    private static final int SYNC_RECORDS = 4096;
+    private static final long SYNC_NANOS = 1_000_000_000L;
+
+    private GameLog() {
+    }
+
+    /**
+     * @param wordLength the word length
+     * @return the number of bytes a packed word of that length is stored in
+     */
+    static int codeBytes(int wordLength) {
+        return (5 * wordLength + 7) / 8;
+    }
+
+    /**
+     * @param wordLength the word length
+     * @param guessCount the number of guesses
+     * @return the number of bytes a record takes in a log
+     */
+    static int recordSize(int wordLength, int guessCount) {
+        int codeBytes = codeBytes(wordLength);
+        return RECORD_HEADER_BYTES + codeBytes
+            + guessCount * (codeBytes + FeedbackMatrix.cellBytes(wordLength) + Integer.BYTES);
+    }
+
+    /**
+     * One game, filled in guess by guess and reused for the next game.
+     */
+    public static final class Record {
+        public static final int MAX_GUESSES = 255;
+
+        private int wordLength;
+        private long target;
+        private long startMillis;
+        private int guessCount;
+        private final long[] guesses;
+        private final int[] patterns;
+        private final int[] millis;
+
+        /**
+         * Constructor for a Record that holds any logged game, for reading logs.
+         */
+        public Record() {
+            this(MAX_GUESSES);
+        }
+
+        /**
+         * Constructor for a Record that holds games of up to a number of guesses.
+         *
+         * @param capacity the most guesses a game can have, at most {@link #MAX_GUESSES}
+         */
+        public Record(int capacity) {
+            int size = Math.min(capacity, MAX_GUESSES);
+            guesses = new long[size];
+            patterns = new int[size];
+            millis = new int[size];
+        }
+
+        /**
+         * Starts a new game, forgetting the previous one.
+         *
+         * @param wordLength the word length
+         * @param target the target packed with {@link Scorer#encode(CharSequence)}
+         * @param startMillis when the game started, in epoch milliseconds
+         */
+        public void start(int wordLength, long target, long startMillis) {
+            this.wordLength = wordLength;
+            this.target = target;
+            this.startMillis = startMillis;
+            guessCount = 0;
+        }
+
+        /**
+         * Replaces the target, for games whose target is only settled at the end.
+         *
+         * @param target the target packed with {@link Scorer#encode(CharSequence)}
+         */
+        public void setTarget(long target) {
+            this.target = target;
+        }
+
+        /**
+         * Adds a scored guess, using the current time for its timing.
+         *
+         * @param guessCode the packed guess
+         * @param pattern the base-3 feedback pattern
+         */
+        public void add(long guessCode, int pattern) {
+            add(guessCode, pattern, (int) (System.currentTimeMillis() - startMillis));
+        }
+
+        /**
+         * Adds a scored guess. Guesses past the capacity of the record are dropped.
+         *
+         * @param guessCode the packed guess
+         * @param pattern the base-3 feedback pattern
+         * @param elapsedMillis milliseconds since the start of the game
+         */
+        public void add(long guessCode, int pattern, int elapsedMillis) {
+            if (guessCount < guesses.length) {
+                guesses[guessCount] = guessCode;
+                patterns[guessCount] = pattern;
+                millis[guessCount] = elapsedMillis;
+                guessCount++;
+            }
+        }
+
+        private void writeTo(ByteBuffer buffer) {
+            int codeBytes = codeBytes(wordLength);
+            int patternBytes = FeedbackMatrix.cellBytes(wordLength);
+            buffer.put((byte) wordLength).put((byte) guessCount).putLong(startMillis);
+            putBytes(buffer, target, codeBytes);
+            for (int i = 0; i < guessCount; i++) {
+                putBytes(buffer, guesses[i], codeBytes);
+                putBytes(buffer, patterns[i], patternBytes);
+                buffer.putInt(millis[i]);
+            }
+        }
+
+        private void readFrom(ByteBuffer buffer) {
+            wordLength = buffer.get() & 0xFF;
+            guessCount = buffer.get() & 0xFF;
+            startMillis = buffer.getLong();
+            int codeBytes = codeBytes(wordLength);
+            int patternBytes = FeedbackMatrix.cellBytes(wordLength);
+            target = getBytes(buffer, codeBytes);
+            for (int i = 0; i < guessCount; i++) {
+                guesses[i] = getBytes(buffer, codeBytes);
+                patterns[i] = (int) getBytes(buffer, patternBytes);
+                millis[i] = buffer.getInt();
+            }
+        }
+
+        private static void putBytes(ByteBuffer buffer, long value, int bytes) {
+            for (int i = 0; i < bytes; i++) {
+                buffer.put((byte) (value >>> (8 * i)));
+            }
+        }
+
+        private static long getBytes(ByteBuffer buffer, int bytes) {
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value |= (buffer.get() & 0xFFL) << (8 * i);
+            }
+            return value;
+        }
+
+        /**
+         * @return the word length
+         */
+        public int wordLength() {
+            return wordLength;
+        }
+
+        /**
+         * @return the packed target
+         */
+        public long target() {
+            return target;
+        }
+
+        /**
+         * @return when the game started, in epoch milliseconds
+         */
+        public long startMillis() {
+            return startMillis;
+        }
+
+        /**
+         * @return the number of guesses
+         */
+        public int guessCount() {
+            return guessCount;
+        }
+
+        /**
+         * @param i the guess number, starting at 0
+         * @return the packed guess
+         */
+        public long guess(int i) {
+            return guesses[i];
+        }
+
+        /**
+         * @param i the guess number, starting at 0
+         * @return the base-3 feedback pattern of the guess
+         */
+        public int pattern(int i) {
+            return patterns[i];
+        }
+
+        /**
+         * @param i the guess number, starting at 0
+         * @return milliseconds from the start of the game to the guess
+         */
+        public int millis(int i) {
+            return millis[i];
+        }
+
+        /**
+         * @return true if the last guess was the target
+         */
+        public boolean isWon() {
+            return guessCount > 0 && patterns[guessCount - 1] == Scorer.allGreen(wordLength);
+        }
+    }
+
+    /**
+     * Appends records to a log. Safe to share between threads.
+     */
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private int unsynced = 0;
+        private long lastSync = System.nanoTime();
+
+        /**
+         * Opens a log for appending, creating it if needed. A record cut short at the end of
+         * the log is cut off, so new records follow the last complete one.
+         *
+         * @param file the log file
+         * @throws IOException if the file cannot be opened, is not a game log or has a
+         *     corrupt record
+         */
+        public Writer(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+            try {
+                if (channel.size() == 0) {
+                    buffer.putInt(MAGIC).putInt(VERSION);
+                } else {
+                    // Opening a Reader checks the header, and reading finds the complete records
+                    long end;
+                    try (Reader reader = new Reader(file)) {
+                        Record record = new Record();
+                        while (reader.next(record)) {
+                            // Skip to the end
+                        }
+                        end = reader.offset;
+                    }
+                    if (end < channel.size()) {
+                        channel.truncate(end);
+                    }
+                }
+            } catch (IOException ioe) {
+                channel.close();
+                throw ioe;
+            }
+        }
+
+        /**
+         * Appends a finished game. It reaches the disk with the next fsync, at most a second or
+         * a few thousand games later while games keep finishing, or on {@link #sync()}.
+         *
+         * @param record the game
+         * @throws IOException if the log cannot be written
+         */
+        public synchronized void append(Record record) throws IOException {
+            if (buffer.remaining() < recordSize(record.wordLength, record.guessCount)) {
+                drain();
+            }
+            record.writeTo(buffer);
+            unsynced++;
+            if (unsynced >= SYNC_RECORDS || System.nanoTime() - lastSync >= SYNC_NANOS) {
+                sync();
+            }
+        }
+
+        /**
+         * Writes out buffered records and forces them to the disk.
+         *
+         * @throws IOException if the log cannot be written
+         */
+        public synchronized void sync() throws IOException {
+            drain();
+            channel.force(false);
+            unsynced = 0;
+            lastSync = System.nanoTime();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Syncs and closes the log.
+         *
+         * @throws IOException if the log cannot be written
+         */
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Streams the records of a log.
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long offset = FILE_HEADER_BYTES;
+
+        /**
+         * Opens a log for reading.
+         *
+         * @param file the log file
+         * @throws IOException if the file cannot be read or is not a game log
+         */
+        public Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.flip();
+            if (!fill(FILE_HEADER_BYTES) || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                channel.close();
+                throw new IOException(file + " is not a Jordle game log");
+            }
+        }
+
+        /**
+         * Reads the next record. A record cut short at the end of the log, as left by a crash
+         * before the last fsync, counts as the end.
+         *
+         * @param record the record to read into, able to hold {@link Record#MAX_GUESSES}
+         *     guesses unless the log is known to have shorter games
+         * @return false at the end of the log
+         * @throws IOException if the log cannot be read, a record is corrupt or it has more
+         *     guesses than the record holds
+         */
+        public boolean next(Record record) throws IOException {
+            if (!fill(RECORD_HEADER_BYTES)) {
+                return false;
+            }
+            int wordLength = buffer.get(buffer.position()) & 0xFF;
+            int guessCount = buffer.get(buffer.position() + 1) & 0xFF;
+            if (wordLength < Scorer.MIN_LENGTH || wordLength > Scorer.MAX_LENGTH) {
+                throw new IOException("Corrupt record at offset " + offset);
+            } else if (guessCount > record.guesses.length) {
+                throw new IOException("Record at offset " + offset + " has more than "
+                    + record.guesses.length + " guesses");
+            }
+            int size = recordSize(wordLength, guessCount);
+            if (!fill(size)) {
+                return false;
+            }
+            record.readFrom(buffer);
+            offset += size;
+            return true;
+        }
+
+        /**
+         * Makes sure the buffer holds at least a number of unread bytes.
+         *
+         * @param bytes the number of bytes needed
+         * @return false if the log ends first
+         */
+        private boolean fill(int bytes) throws IOException {
+            while (buffer.remaining() < bytes) {
+                buffer.compact();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Prints aggregate stats over a log, optionally replaying every game through a
+     * {@link Backend} and {@link GameState} to check the logged feedback.
+     *
+     * @param args the log file, then "stats" (the default) or "replay"
+     * @throws IOException if the log cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java GameLog log-file [stats|replay]");
+            return;
+        }
+        boolean replay = args.length > 1 && args[1].equals("replay");
+
+        long games = 0;
+        long wins = 0;
+        long wonGuesses = 0;
+        long totalMillis = 0;
+        long mismatches = 0;
+        long skipped = 0;
+        long[] distribution = new long[Record.MAX_GUESSES + 1];
+        Backend[] backends = new Backend[Scorer.MAX_LENGTH + 1];
+        GameState[] states = new GameState[Scorer.MAX_LENGTH + 1];
+
+        Record record = new Record();
+        long start = System.nanoTime();
+        try (Reader reader = new Reader(Paths.get(args[0]))) {
+            while (reader.next(record)) {
+                games++;
+                int guesses = record.guessCount();
+                if (record.isWon()) {
+                    wins++;
+                    wonGuesses += guesses;
+                    distribution[guesses]++;
+                }
+                if (guesses > 0) {
+                    totalMillis += record.millis(guesses - 1);
+                }
+                if (!replay) {
+                    continue;
+                }
+
+                // Replay through the engine, one reused Backend and board per word length
+                int length = record.wordLength();
+                if (backends[length] == null) {
+                    try {
+                        backends[length] = new Backend(length);
+                    } catch (IllegalArgumentException iae) {
+                        skipped++;
+                        continue;
+                    }
+                    states[length] = new GameState(Record.MAX_GUESSES, length);
+                }
+                backends[length].setTarget(record.target());
+                states[length].reset();
+                for (int i = 0; i < guesses; i++) {
+                    if (states[length].submit(backends[length], record.guess(i)) != record.pattern(i)) {
+                        mismatches++;
+                        break;
+                    }
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf(Locale.ROOT, "Games: %d  Win rate: %.2f%%  Average guesses: %.3f  Average time: %.1f s%n",
+            games, 100.0 * wins / Math.max(games, 1), (double) wonGuesses / Math.max(wins, 1),
+            totalMillis / 1000.0 / Math.max(games, 1));
+        for (int i = 1; i < distribution.length; i++) {
+            if (distribution[i] != 0) {
+                System.out.printf("%5d: %d%n", i, distribution[i]);
+            }
+        }
+        System.out.printf("%5s: %d%n", "lost", games - wins);
+        if (replay) {
+            System.out.println("Replay mismatches: " + mismatches + "  Skipped: " + skipped);
+        }
+        System.out.println("Read in " + millis + " ms");
+    }
+}
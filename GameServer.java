@@ -0,0 +1,319 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless Jordle server hosting many concurrent {@link GameSession}s over local HTTP.
+ *
+ * Endpoints (plain text in and out):
+ *   POST   /games[?length=N]   create a game, returns its id
+ *   POST   /games?daily[=DATE] create a game with the daily word of today (UTC) or an
+ *                              ISO date; every server agrees on it without coordination
+ *   POST   /games?absurdle     create an adversarial game that defers its target
+ *   GET    /games/{id}         game status
+ *   POST   /games/{id}/guess   guess the word in the request body, returns e.g. "gyiig"
+ *   POST   /games/{id}/reset   start a new game in the same session
+ *   DELETE /games/{id}         end the session
+ *
+ * Finished games are appended to a {@link GameLog} when a log file is given. The server
+ * holds at most 65536 sessions, of which 4096 may be adversarial since each of those keeps
+ * arrays the size of the answer list, and answers 503 to new games beyond that. Sessions
+ * left idle for 10 minutes are dropped.
+ *
+ * Usage: java GameServer [port] [game log file]
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class GameServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int MAX_SESSIONS = 1 << 16;
+    private static final int MAX_ADVERSARIAL_SESSIONS = 1 << 12;
+
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    // Sessions held or being created, reserved before a session is built
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicInteger adversarialCount = new AtomicInteger();
+    private final HttpServer server;
+    private final ScheduledExecutorService sweeper;
+    private final GameLog.Writer log;
+
+    /**
+     * Constructor for a GameServer bound to the loopback interface.
+     *
+     * @param port the port to listen on
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * Constructor for a GameServer bound to the loopback interface that logs finished games.
+     *
+     * @param port the port to listen on
+     * @param logFile the game log to append to, or null for none
+     * @throws IOException if the port cannot be bound or the log cannot be opened
+     */
+    public GameServer(int port, Path logFile) throws IOException {
+        log = logFile == null ? null : new GameLog.Writer(logFile);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.createContext("/games", this::handle);
+        server.setExecutor(newRequestExecutor());
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts serving requests and sweeping idle sessions.
+     */
+    public void start() {
+        server.start();
+        sweeper.scheduleAtFixedRate(this::sweep, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        server.stop(0);
+        sweeper.shutdownNow();
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException ioe) {
+                System.out.println("Error in writing game log: " + ioe.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the executor requests run on: one virtual thread per request when the JDK
+     * has them (21+), otherwise a cached pool of platform threads.
+     *
+     * @return the request executor
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException roe) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Removes sessions that have not been used within the idle timeout, and syncs the game
+     * log so games finished during a quiet spell reach the disk too.
+     */
+    private void sweep() {
+        long now = System.nanoTime();
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastUsed() > IDLE_TIMEOUT_NANOS) {
+                remove(session);
+            }
+        }
+        if (log != null) {
+            try {
+                log.sync();
+            } catch (IOException ioe) {
+                System.out.println("Error in writing game log: " + ioe.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reserves room for a new session.
+     *
+     * @param adversarial true if the session defers its target
+     * @return false if the server is full
+     */
+    private boolean reserve(boolean adversarial) {
+        if (sessionCount.incrementAndGet() > MAX_SESSIONS) {
+            sessionCount.decrementAndGet();
+            return false;
+        }
+        if (adversarial && adversarialCount.incrementAndGet() > MAX_ADVERSARIAL_SESSIONS) {
+            adversarialCount.decrementAndGet();
+            sessionCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back the room reserved for a session.
+     *
+     * @param adversarial true if the session defers its target
+     */
+    private void release(boolean adversarial) {
+        sessionCount.decrementAndGet();
+        if (adversarial) {
+            adversarialCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Ends a session, if no other request or the sweeper has ended it already.
+     *
+     * @param session the session
+     */
+    private void remove(GameSession session) {
+        if (sessions.remove(session.getId(), session)) {
+            release(session.isAdversarial());
+        }
+    }
+
+    /**
+     * Routes a request under /games. Errors the handlers do not expect still get a response,
+     * so a client is never left waiting.
+     *
+     * @param exchange the HTTP exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            // The context matches any path starting with /games, such as /gamesXYZ
+            if (!path.equals("/games") && !path.startsWith("/games/")) {
+                respond(exchange, 404, "Unknown request.");
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String[] parts = path.split("/");
+            // parts[0] is empty and parts[1] is "games"
+
+            if (parts.length == 2) {
+                if (!method.equals("POST")) {
+                    respond(exchange, 405, "Use POST to create a game.");
+                    return;
+                }
+                String query = exchange.getRequestURI().getQuery();
+                int length = Scorer.WORD_LENGTH;
+                LocalDate daily = null;
+                boolean absurdle = false;
+                for (String param : query == null ? new String[0] : query.split("&")) {
+                    if (param.startsWith("length=")) {
+                        length = Integer.parseInt(param.substring("length=".length()));
+                    } else if (param.equals("daily")) {
+                        daily = LocalDate.now(ZoneOffset.UTC);
+                    } else if (param.startsWith("daily=")) {
+                        daily = LocalDate.parse(param.substring("daily=".length()));
+                    } else if (param.equals("absurdle")) {
+                        absurdle = true;
+                    }
+                }
+                if (length < Scorer.MIN_LENGTH || length > Scorer.MAX_LENGTH) {
+                    respond(exchange, 400, "Word length must be from " + Scorer.MIN_LENGTH + " to "
+                        + Scorer.MAX_LENGTH + ".");
+                    return;
+                }
+                if (!reserve(absurdle)) {
+                    respond(exchange, 503, "Too many games, try again later.");
+                    return;
+                }
+                GameSession session;
+                try {
+                    Backend backend = daily == null ? new Backend(length) : Backend.daily(length, daily);
+                    if (absurdle) {
+                        backend.setAdversarial(true);
+                    }
+                    session = new GameSession(nextId.getAndIncrement(), backend);
+                } catch (RuntimeException re) {
+                    release(absurdle);
+                    throw re;
+                }
+                session.setLog(log);
+                sessions.put(session.getId(), session);
+                respond(exchange, 201, Long.toString(session.getId()));
+                return;
+            }
+
+            GameSession session = null;
+            try {
+                session = sessions.get(Long.parseLong(parts[2]));
+            } catch (NumberFormatException nfe) {
+                // Fall through to not found
+            }
+            if (session == null || parts.length > 4) {
+                respond(exchange, 404, "No such game.");
+                return;
+            }
+
+            String action = parts.length == 4 ? parts[3] : "";
+            if (action.isEmpty() && method.equals("GET")) {
+                respond(exchange, 200, session.status());
+            } else if (action.isEmpty() && method.equals("DELETE")) {
+                remove(session);
+                respond(exchange, 200, "Deleted.");
+            } else if (action.equals("guess") && method.equals("POST")) {
+                respond(exchange, 200, session.guess(readBody(exchange)));
+            } else if (action.equals("reset") && method.equals("POST")) {
+                session.reset();
+                respond(exchange, 200, "Reset.");
+            } else {
+                respond(exchange, 404, "Unknown request.");
+            }
+        } catch (InvalidGuessException | IllegalArgumentException | IllegalStateException
+                 | DateTimeParseException e) {
+            respond(exchange, 400, e.getMessage());
+        } catch (RuntimeException re) {
+            System.out.println("Error in handling " + path + ": " + re);
+            respond(exchange, 500, "Internal error.");
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readNBytes(64), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a GameServer.
+     *
+     * @param args optionally the port to listen on and the game log file
+     * @throws IOException if the port cannot be bound or the log cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Metrics.start();
+        GameServer gameServer = new GameServer(port, args.length > 1 ? Paths.get(args[1]) : null);
+        Runtime.getRuntime().addShutdownHook(new Thread(gameServer::stop));
+        gameServer.start();
+        System.out.println("Jordle server listening on 127.0.0.1:" + port);
+    }
+}
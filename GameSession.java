@@ -0,0 +1,185 @@
+import java.io.IOException;
+
+/**
+ * One headless Jordle game: a {@link GameState} and the Backend it is scored against.
+ *
+ * Sessions are used by {@link GameServer} and carry no JavaFX objects, so thousands of
+ * them can live in one JVM. All operations are synchronized on the session, which keeps
+ * concurrent requests for the same game consistent without a global lock.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class GameSession {
+    private static final char[] RESULTS = {'i', 'y', 'g'};
+
+    private final long id;
+    private final Backend backend;
+    private final GameState state;
+    // Only kept while there is a log, sized to the rows of the game
+    private GameLog.Record record;
+    private GameLog.Writer log;
+    private volatile long lastUsed;
+
+    /**
+     * Constructor for a GameSession with a random five letter target.
+     *
+     * @param id the id the session is addressed by
+     */
+    public GameSession(long id) {
+        this(id, Scorer.WORD_LENGTH);
+    }
+
+    /**
+     * Constructor for a GameSession with a random target.
+     *
+     * @param id the id the session is addressed by
+     * @param wordLength the number of letters in the target
+     * @throws IllegalArgumentException if words.txt has no words of that length
+     */
+    public GameSession(long id, int wordLength) {
+        this(id, new Backend(wordLength));
+    }
+
+    /**
+     * Constructor for a GameSession played against a given Backend, such as the daily word's.
+     *
+     * @param id the id the session is addressed by
+     * @param backend the backend holding the target
+     */
+    public GameSession(long id, Backend backend) {
+        this.id = id;
+        this.backend = backend;
+        state = new GameState(GameState.DEFAULT_ROWS, backend.getWordLength());
+        Metrics.GAMES.increment();
+        lastUsed = System.nanoTime();
+    }
+
+    /**
+     * Sets the log, before the first guess so the whole game is logged.
+     *
+     * @param log the log finished games are appended to, or null for none
+     */
+    public synchronized void setLog(GameLog.Writer log) {
+        this.log = log;
+        if (log == null) {
+            record = null;
+        } else if (record == null) {
+            record = new GameLog.Record(state.getRows());
+            record.start(backend.getWordLength(), backend.getTargetCode(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Scores a guess and advances the game.
+     *
+     * @param word the word to guess
+     * @return the 'g', 'y', 'i' result String
+     * @throws InvalidGuessException if the word is not a valid Jordle guess or not an allowed word
+     * @throws IllegalStateException if the game is already over
+     */
+    public synchronized String guess(String word) throws InvalidGuessException {
+        lastUsed = System.nanoTime();
+        long start = Metrics.now();
+        long code = Scorer.encode(word);
+        if (!state.isOver() && !Dictionary.get().isAllowed(code)) {
+            Metrics.INVALID_GUESSES.increment();
+            throw new InvalidGuessException(word);
+        }
+        int pattern = state.submit(backend, code);
+        if (pattern == GameState.GAME_OVER) {
+            throw new IllegalStateException("Game " + id + " is over.");
+        } else if (pattern < 0) {
+            Metrics.INVALID_GUESSES.increment();
+            throw new InvalidGuessException(word);
+        }
+        Metrics.GUESSES.increment();
+        Metrics.CHECK.recordSince(start);
+
+        if (log == null) {
+            return Scorer.toString(pattern, state.getCols());
+        }
+        record.add(code, pattern);
+        if (state.isOver()) {
+            // An adversarial target is only settled by the last guess
+            record.setTarget(backend.getTargetCode());
+            try {
+                log.append(record);
+            } catch (IOException ioe) {
+                System.out.println("Error in writing game log: " + ioe.getMessage());
+            }
+        }
+        return Scorer.toString(pattern, state.getCols());
+    }
+
+    /**
+     * Starts a new game in this session with a new target.
+     */
+    public synchronized void reset() {
+        lastUsed = System.nanoTime();
+        backend.reset();
+        state.reset();
+        Metrics.GAMES.increment();
+        if (record != null) {
+            record.start(backend.getWordLength(), backend.getTargetCode(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Describes the game as plain text, one "key=value" per line. The target is only
+     * included once the game is over.
+     *
+     * @return the status text
+     */
+    public synchronized String status() {
+        lastUsed = System.nanoTime();
+        StringBuilder builder = new StringBuilder(128);
+        builder.append("id=").append(id).append('\n');
+        builder.append("row=").append(state.getRow()).append('\n');
+        builder.append("over=").append(state.isOver()).append('\n');
+        builder.append("won=").append(state.isWon()).append('\n');
+        for (int row = 0; row < state.getRow(); row++) {
+            builder.append("guess=");
+            for (int col = 0; col < state.getCols(); col++) {
+                builder.append(state.letter(row, col));
+            }
+            builder.append(' ');
+            for (int col = 0; col < state.getCols(); col++) {
+                builder.append(RESULTS[state.result(row, col)]);
+            }
+            builder.append('\n');
+        }
+        if (state.isOver()) {
+            builder.append("target=").append(backend.getTarget()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return true if the game has been won or every guess has been used
+     */
+    public synchronized boolean isOver() {
+        return state.isOver();
+    }
+
+    /**
+     * @return true if the session's games defer their target, as in Absurdle
+     */
+    public boolean isAdversarial() {
+        return backend.isAdversarial();
+    }
+
+    /**
+     * @return the id the session is addressed by
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last operation on this session
+     */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+}
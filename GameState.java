@@ -0,0 +1,281 @@
+/**
+ * UI-independent model of a Jordle board.
+ *
+ * Letters and results are kept in flat primitive arrays, one entry per cell. Views register
+ * a {@link Listener} and are told exactly which cells changed, so they only repaint those.
+ * Without a listener the model runs fully headless.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class GameState {
+    public static final int DEFAULT_ROWS = 6;
+
+    // Result of a cell that has not been scored yet; scored cells hold a Scorer digit
+    public static final byte UNSCORED = -1;
+
+    // Values returned by submit when the guess is not scored
+    public static final int INCOMPLETE = -1;
+    public static final int INVALID = -2;
+    public static final int GAME_OVER = -3;
+
+    /**
+     * Receives the changes made to a GameState.
+     */
+    public interface Listener {
+        /**
+         * Called when the letter or result of a cell changes.
+         *
+         * @param row the cell's row
+         * @param col the cell's column
+         */
+        void cellChanged(int row, int col);
+
+        /**
+         * Called once a row has been scored, after its cells are updated.
+         *
+         * @param row the scored row
+         * @param pattern the base-3 feedback pattern of the row
+         */
+        void rowScored(int row, int pattern);
+    }
+
+    private final int rows;
+    private final int cols;
+    private final byte[] letters;
+    private final byte[] results;
+    private int currentRow = 0;
+    private int currentCol = 0;
+    private boolean gameOver = false;
+    private boolean won = false;
+    private Listener listener;
+
+    /**
+     * Constructor for an empty GameState with six rows of five letter words.
+     */
+    public GameState() {
+        this(DEFAULT_ROWS, Scorer.WORD_LENGTH);
+    }
+
+    /**
+     * Constructor for an empty GameState.
+     *
+     * @param rows the number of guesses allowed
+     * @param cols the word length, from 4 to 12
+     */
+    public GameState(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        letters = new byte[rows * cols];
+        results = new byte[rows * cols];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = UNSCORED;
+        }
+    }
+
+    /**
+     * @param listener the listener to notify of changes, or null for none
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Types a letter into the next cell of the current row.
+     *
+     * @param c the letter, case-insensitive
+     * @return true if the letter was added
+     */
+    public boolean type(char c) {
+        int letter = (c | 0x20) - 'a' + 1;
+        if (gameOver || currentCol == cols || letter < 1 || letter > 26) {
+            return false;
+        }
+        letters[currentRow * cols + currentCol] = (byte) letter;
+        currentCol++;
+        if (listener != null) {
+            listener.cellChanged(currentRow, currentCol - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the last letter of the current row.
+     *
+     * @return true if a letter was removed
+     */
+    public boolean erase() {
+        if (gameOver || currentCol == 0) {
+            return false;
+        }
+        currentCol--;
+        letters[currentRow * cols + currentCol] = 0;
+        if (listener != null) {
+            listener.cellChanged(currentRow, currentCol);
+        }
+        return true;
+    }
+
+    /**
+     * Scores the current row against the backend's target and moves to the next row.
+     *
+     * @param backend the backend holding the target
+     * @return the base-3 feedback pattern, or INCOMPLETE, INVALID or GAME_OVER
+     */
+    public int submit(Backend backend) {
+        if (gameOver) {
+            return GAME_OVER;
+        }
+        if (currentCol != cols) {
+            return INCOMPLETE;
+        }
+        return submitPattern(backend.checkPattern(rowCode(currentRow)));
+    }
+
+    /**
+     * Scores the current row with a pattern worked out elsewhere, such as this board's entry
+     * from a batched {@link MultiBackend#check(long)}, and moves to the next row.
+     *
+     * @param pattern the base-3 feedback pattern of the current row
+     * @return the pattern, or INCOMPLETE or GAME_OVER
+     */
+    public int submitPattern(int pattern) {
+        if (gameOver) {
+            return GAME_OVER;
+        }
+        if (currentCol != cols) {
+            return INCOMPLETE;
+        }
+
+        int row = currentRow;
+        for (int col = 0; col < cols; col++) {
+            results[row * cols + col] = (byte) Scorer.digit(pattern, col);
+            if (listener != null) {
+                listener.cellChanged(row, col);
+            }
+        }
+
+        currentRow++;
+        currentCol = 0;
+        won = pattern == Scorer.allGreen(cols);
+        gameOver = won || currentRow == rows;
+        if (listener != null) {
+            listener.rowScored(row, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Fills the current row with a whole word and submits it, for headless play.
+     *
+     * @param backend the backend holding the target
+     * @param code the word packed with {@link Scorer#encode(CharSequence)}
+     * @return the base-3 feedback pattern, or INVALID or GAME_OVER
+     */
+    public int submit(Backend backend, long code) {
+        if (gameOver) {
+            return GAME_OVER;
+        }
+        if (code < 0 || Scorer.length(code) != cols) {
+            return INVALID;
+        }
+        for (int col = 0; col < cols; col++) {
+            letters[currentRow * cols + col] = (byte) Scorer.letter(code, col);
+        }
+        currentCol = cols;
+        return submit(backend);
+    }
+
+    /**
+     * Clears the board for a new game, notifying the listener only of cells that were used.
+     */
+    public void reset() {
+        int usedRows = Math.min(currentRow + 1, rows);
+        currentRow = 0;
+        currentCol = 0;
+        gameOver = false;
+        won = false;
+        for (int i = 0; i < usedRows * cols; i++) {
+            if (letters[i] != 0 || results[i] != UNSCORED) {
+                letters[i] = 0;
+                results[i] = UNSCORED;
+                if (listener != null) {
+                    listener.cellChanged(i / cols, i % cols);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param row the row
+     * @return the letters of the row packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long rowCode(int row) {
+        long code = 0;
+        for (int col = 0; col < cols; col++) {
+            code |= (long) letters[row * cols + col] << (5 * col);
+        }
+        return code;
+    }
+
+    /**
+     * @param row the cell's row
+     * @param col the cell's column
+     * @return the lowercase letter in the cell, or 0 if it is empty
+     */
+    public char letter(int row, int col) {
+        int letter = letters[row * cols + col];
+        return letter == 0 ? 0 : (char) ('a' - 1 + letter);
+    }
+
+    /**
+     * @param row the cell's row
+     * @param col the cell's column
+     * @return the Scorer digit of the cell, or UNSCORED
+     */
+    public int result(int row, int col) {
+        return results[row * cols + col];
+    }
+
+    /**
+     * @return the number of guesses allowed
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the word length
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return the row being typed into
+     */
+    public int getRow() {
+        return currentRow;
+    }
+
+    /**
+     * @return the column the next letter goes into
+     */
+    public int getCol() {
+        return currentCol;
+    }
+
+    /**
+     * @return true if the game has been won or lost
+     */
+    public boolean isOver() {
+        return gameOver;
+    }
+
+    /**
+     * @return true if the game has been won
+     */
+    public boolean isWon() {
+        return won;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Incremental constraint state for hard mode, where every green must stay in place and
+ * every yellow must be used again in later guesses.
+ *
+ * Each result is folded in once: the green letter of each position, a 26-bit mask of the
+ * letters still possible at each position, plus a minimum and maximum count per letter.
+ * Checking a guess then only looks at its own letters, so it is O(word length) however
+ * many rows have been played. {@link #allows(long)} applies the hard-mode rule players
+ * see. The stricter {@link #isConsistent(long)} also bans gray letters and yellows in a
+ * spot already tried, deciding whether a word could still be the answer, for solvers.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class HardModeValidator {
+    private static final int LETTERS = 26;
+
+    // Bits 1-26 set, one per letter code
+    private static final int ALL_LETTERS = ((1 << LETTERS) - 1) << 1;
+
+    private final int wordLength;
+    private final int[] allowed;
+
+    // Letter code of the green at each position, or 0
+    private final int[] green;
+    private final byte[] minCount = new byte[LETTERS + 1];
+    private final byte[] maxCount = new byte[LETTERS + 1];
+
+    // Letters with a minimum count above zero
+    private int requiredLetters;
+
+    // Scratch letter counts, cleared again after every use
+    private final byte[] counts = new byte[LETTERS + 1];
+
+    /**
+     * Constructor for a HardModeValidator with no feedback yet.
+     *
+     * @param wordLength the length of every word
+     */
+    public HardModeValidator(int wordLength) {
+        this.wordLength = wordLength;
+        allowed = new int[wordLength];
+        green = new int[wordLength];
+        reset();
+    }
+
+    /**
+     * Forgets every result, so any word is allowed again.
+     */
+    public void reset() {
+        for (int i = 0; i < wordLength; i++) {
+            allowed[i] = ALL_LETTERS;
+            green[i] = 0;
+        }
+        for (int letter = 1; letter <= LETTERS; letter++) {
+            minCount[letter] = 0;
+            maxCount[letter] = (byte) wordLength;
+        }
+        requiredLetters = 0;
+    }
+
+    /**
+     * Folds the feedback to a guess into the constraints.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @param pattern the base-3 feedback pattern
+     */
+    public void addResult(long guessCode, int pattern) {
+        // Position constraints: a green pins the letter, anything else rules it out
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Scorer.letter(guessCode, i);
+            if (Scorer.digit(pattern, i) == Scorer.GREEN) {
+                allowed[i] = 1 << letter;
+                green[i] = letter;
+            } else {
+                allowed[i] &= ~(1 << letter);
+            }
+            if (Scorer.digit(pattern, i) != Scorer.INCORRECT) {
+                counts[letter]++;
+            }
+        }
+
+        // Count constraints: the marked copies are a minimum, and a gray copy caps the count
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Scorer.letter(guessCode, i);
+            if (counts[letter] > minCount[letter]) {
+                minCount[letter] = counts[letter];
+                requiredLetters |= 1 << letter;
+            }
+            if (Scorer.digit(pattern, i) == Scorer.INCORRECT && counts[letter] < maxCount[letter]) {
+                maxCount[letter] = counts[letter];
+            }
+        }
+        clearCounts(guessCode);
+    }
+
+    /**
+     * Checks whether a word keeps every green in place and uses every yellow.
+     *
+     * @param code the word packed with {@link Scorer#encode(CharSequence)}
+     * @return true if the word is a legal hard-mode guess
+     */
+    public boolean allows(long code) {
+        boolean ok = true;
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Scorer.letter(code, i);
+            ok &= green[i] == 0 || green[i] == letter;
+            counts[letter]++;
+        }
+        for (int bits = requiredLetters; bits != 0 && ok; bits &= bits - 1) {
+            int letter = Integer.numberOfTrailingZeros(bits);
+            ok = counts[letter] >= minCount[letter];
+        }
+        clearCounts(code);
+        return ok;
+    }
+
+    /**
+     * Checks whether a word is consistent with every result so far, so it could still be
+     * the answer.
+     *
+     * @param code the word packed with {@link Scorer#encode(CharSequence)}
+     * @return true if the word fits every color revealed
+     */
+    public boolean isConsistent(long code) {
+        int letters = 0;
+        boolean ok = true;
+        for (int i = 0; i < wordLength && ok; i++) {
+            int letter = Scorer.letter(code, i);
+            ok = (allowed[i] & (1 << letter)) != 0 && ++counts[letter] <= maxCount[letter];
+            letters |= 1 << letter;
+        }
+        ok &= (requiredLetters & ~letters) == 0;
+        for (int i = 0; i < wordLength && ok; i++) {
+            int letter = Scorer.letter(code, i);
+            ok = counts[letter] >= minCount[letter];
+        }
+        clearCounts(code);
+        return ok;
+    }
+
+    /**
+     * Explains why a word is not a legal hard-mode guess.
+     *
+     * @param code the word packed with {@link Scorer#encode(CharSequence)}
+     * @return the first rule the word breaks, or null if it is allowed
+     */
+    public String violation(long code) {
+        String reason = null;
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Scorer.letter(code, i);
+            counts[letter]++;
+            if (reason == null && green[i] != 0 && green[i] != letter) {
+                reason = "Letter " + (i + 1) + " must be " + upper(green[i]) + "!";
+            }
+        }
+        for (int bits = requiredLetters; bits != 0 && reason == null; bits &= bits - 1) {
+            int letter = Integer.numberOfTrailingZeros(bits);
+            if (counts[letter] < minCount[letter]) {
+                reason = minCount[letter] == 1 ? "Guess must contain " + upper(letter) + "!"
+                    : "Guess must contain " + minCount[letter] + " " + upper(letter) + "s!";
+            }
+        }
+        clearCounts(code);
+        return reason;
+    }
+
+    private void clearCounts(long code) {
+        for (int i = 0; i < wordLength; i++) {
+            counts[Scorer.letter(code, i)] = 0;
+        }
+    }
+
+    private static char upper(int letter) {
+        return (char) ('A' - 1 + letter);
+    }
+}
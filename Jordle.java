@@ -1,25 +1,37 @@
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.Button;
 import javafx.scene.control.Alert;
+import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.StackPane;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import javafx.event.EventHandler;
-import javafx.util.Duration;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
 import javafx.geometry.Pos;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The main class for the Jordle game.
@@ -27,62 +39,279 @@ import java.io.IOException;
  * @author Pattakit Charoensedtakul
  * @version 1.0
  */
-public class Jordle extends Application {
+public class Jordle extends Application implements GameInput {
+    // Cell fill colors indexed by GameState result + 1 (unscored, incorrect, yellow, green)
+    private static final Color[] RESULT_COLORS = {Color.WHITE, Color.GRAY, Color.YELLOW, Color.LIGHTGREEN};
+
+    // Grid cell size bounds and the space the grid may take up
+    private static final int CELL_SIZE = 50;
+    private static final int MIN_CELL_SIZE = 8;
+    private static final int FONT_SIZE = 24;
+    private static final int GRID_WIDTH = 720;
+    private static final int GRID_HEIGHT = 360;
+    private static final int MAX_ROWS = 24;
+    private static final String STATS_FILE = "stats.bin";
+    private static final int WELCOME_IMAGE_WIDTH = 900;
+
+    // Startup milestones
+    private static final int FIRST_FRAME = 1;
+    private static final int DATA_LOADED = 2;
+
     private Stage primaryStage;
     private Scene welcomeScene;
     private Scene gameScene;
 
+    // Player whose stats are kept, or null for a guest
     private String username;
 
     private Label welcomeLabel;
+    private String typedName = "";
+
+    // Player stats, only opened once a player names themselves
+    private Path statsFile;
+    private CompletableFuture<StatsStore> statsLoad;
 
     private int width = 900;
     private int height = 650;
 
-    private StackPane[][] jordleGrid;
-    private int currentRow = 0;
-    private int currentCol = 0;
-    private boolean gameOver = false;
+    // Grid cells indexed by board, row and column
+    private Tile[][][] jordleGrid;
+    private TileAnimator animator;
+    private boolean animations = true;
+    private GameState[] states;
+    private int wordLength = Scorer.WORD_LENGTH;
+    private int rows = GameState.DEFAULT_ROWS;
+    private int boards = 1;
 
     private Label instructionTitle;
+    private Stage instructionsStage;
+
+    // Word data loaded on a background thread while the welcome scene shows
+    private CompletableFuture<FeedbackMatrix> matrixLoad;
+    private CompletableFuture<OpeningBook> bookLoad;
+
+    // Word list the solvers were built from; a reload of words.txt replaces the instance
+    private Dictionary dictionary;
+    private int startup;
+    private boolean train = false;
+    private Alert invalidAlert;
+
+    private MultiBackend backend;
 
-    private Backend backend;
+    private Solver[] solvers;
+
+    // Hard mode rules for single-board games, or null when hard mode is off
+    private HardModeValidator hardMode;
+    private boolean daily = false;
+    private boolean absurdle = false;
+
+    // Game log of finished boards, or null when --log is not given or until the game starts
+    private Path logFile;
+    private CompletableFuture<GameLog.Writer> logLoad;
+    private GameLog.Writer log;
+    private GameLog.Record[] records;
+    private boolean showRemaining = false;
 
     private Keyboard keyboard;
 
     /**
      * Initializes the game's UI and starts the game loop.
+     * The word length, number of rows and number of boards can be set with --length=N,
+     * --rows=N and --boards=N.
      *
      * @param stage the primary stage of the application
      * @throws IOException if an error occurs loading the game scene
      */
     @Override
     public void start(Stage stage) throws IOException {
-        jordleGrid = new StackPane[6][5];
-        backend = new Backend();
-
-        // Initialize Jordle Grid
-        for (int i = 0; i < 6; ++i) {
-            for (int j = 0; j < 5; ++j) {
-                jordleGrid[i][j] = new StackPane();
-                jordleGrid[i][j].getStyleClass().add("jordle-grid-block");
-            }
-        }
+        logStartup("JavaFX toolkit started");
+        Metrics.start();
+        readParameters();
+        preload();
 
         // Initialize Stage
         primaryStage = stage;
 
-        // Initialize Scenes
+        // Initialize the Welcome Scene; the game scene waits until the first game
         welcomeScene = createWelcomeScene();
         welcomeScene.getStylesheets().add("style.css");
 
-        gameScene = createGameScene();
-        gameScene.getStylesheets().add("style.css");
-
         // Start Game
-        stage.setTitle("Jordle");
+        stage.setTitle(absurdle ? "Absurdle" : daily ? "Jordle #" + DailySchedule.today() : "Jordle");
         stage.setScene(welcomeScene);
+        welcomeScene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                // Remove the listener outside the pulse that is running it
+                Platform.runLater(() -> welcomeScene.removePostLayoutPulseListener(this));
+                startupReached(FIRST_FRAME);
+            }
+        });
         stage.show();
+        logStartup("Welcome scene shown");
+    }
+
+    /**
+     * Starts loading the words, the feedback matrix and the opening book, then opening the
+     * game log, on a background thread, so they are ready by the time the player leaves the
+     * welcome scene.
+     */
+    private void preload() {
+        ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "jordle-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int requestedLength = wordLength;
+        matrixLoad = CompletableFuture.supplyAsync(() -> {
+            dictionary = Dictionary.get();
+            int length = dictionary.size(requestedLength) > 0 ? requestedLength : Scorer.WORD_LENGTH;
+            DailySchedule.shared(length);
+            return FeedbackMatrix.load(dictionary, length);
+        }, loader);
+        // Queued behind the word data
+        logLoad = CompletableFuture.supplyAsync(() -> {
+            if (logFile == null) {
+                return null;
+            }
+            try {
+                return new GameLog.Writer(logFile);
+            } catch (IOException ioe) {
+                System.out.println("Error in opening game log: " + ioe.getMessage());
+                return null;
+            }
+        }, loader);
+        bookLoad = matrixLoad.thenApply(OpeningBook::load);
+        bookLoad.whenComplete((book, error) -> {
+            loader.shutdown();
+            if (error != null) {
+                System.out.println("Error in loading word data: " + error.getMessage());
+            }
+            Platform.runLater(() -> startupReached(DATA_LOADED));
+        });
+    }
+
+    /**
+     * Logs a startup milestone, and once the first frame is up and the word data is loaded,
+     * that the game is playable. A --train run starts a game and quits at that point, so
+     * it loads every class a normal start needs for the class data sharing archive.
+     *
+     * @param milestone FIRST_FRAME or DATA_LOADED
+     */
+    private void startupReached(int milestone) {
+        if ((startup & milestone) != 0) {
+            return;
+        }
+        startup |= milestone;
+        logStartup(milestone == FIRST_FRAME ? "First frame" : "Word data loaded");
+        if (startup == (FIRST_FRAME | DATA_LOADED)) {
+            logStartup("Playable");
+            if (train) {
+                play("");
+                Platform.exit();
+            }
+        }
+    }
+
+    /**
+     * Prints how long the JVM has been up and how much heap is in use, to track startup.
+     *
+     * @param phase what has just finished
+     */
+    private static void logStartup(String phase) {
+        Runtime runtime = Runtime.getRuntime();
+        long heap = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        System.out.println(phase + " at " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms, heap "
+            + heap + " MB");
+    }
+
+    /**
+     * Reads the word length, number of rows and number of boards from the command line,
+     * keeping the defaults for values that are missing or unusable. Multi-board games get
+     * five more rows than boards unless told otherwise, as in Quordle and Octordle.
+     * Passing --hard turns on hard mode for single-board games, --absurdle defers the target
+     * of a single-board game with an {@link Adversary}, --daily starts with the day's words
+     * from the {@link DailySchedule} and --log=FILE appends finished boards to a
+     * {@link GameLog}. --no-animations keeps tiles still, for slow or kiosk machines. Player
+     * stats are kept in stats.bin, or in the file given by --stats=FILE. --train quits as
+     * soon as the game is playable, for the class data sharing training run in jordle.sh.
+     */
+    private void readParameters() {
+        Map<String, String> named = getParameters().getNamed();
+        boolean hard = getParameters().getUnnamed().contains("--hard");
+        boolean adversarial = getParameters().getUnnamed().contains("--absurdle");
+        daily = getParameters().getUnnamed().contains("--daily");
+        animations = !getParameters().getUnnamed().contains("--no-animations");
+        train = getParameters().getUnnamed().contains("--train");
+        try {
+            // Checked against words.txt once the preload has read it
+            if (named.containsKey("length")) {
+                int length = Integer.parseInt(named.get("length"));
+                if (length < Scorer.MIN_LENGTH || length > Scorer.MAX_LENGTH) {
+                    System.out.println("No " + length + "-letter words, playing with " + wordLength + " letters");
+                } else {
+                    wordLength = length;
+                }
+            }
+            if (named.containsKey("boards")) {
+                boards = Math.max(1, Math.min(MultiBackend.MAX_BOARDS, Integer.parseInt(named.get("boards"))));
+                if (boards > 1) {
+                    rows = boards + 5;
+                }
+            }
+            if (named.containsKey("rows")) {
+                rows = Math.max(1, Math.min(MAX_ROWS, Integer.parseInt(named.get("rows"))));
+            }
+        } catch (NumberFormatException nfe) {
+            System.out.println("Error in reading parameters: " + nfe.getMessage());
+        }
+
+        if (named.containsKey("log")) {
+            logFile = Paths.get(named.get("log"));
+        }
+
+        statsFile = Paths.get(named.getOrDefault("stats", STATS_FILE));
+
+        // Hard mode needs every guess to fit one board's results, so it only applies to one board
+        if (hard && boards == 1) {
+            hardMode = new HardModeValidator(wordLength);
+        } else if (hard) {
+            System.out.println("Hard mode is only available with one board");
+        }
+        absurdle = adversarial && boards == 1;
+        if (adversarial && boards > 1) {
+            System.out.println("Absurdle is only available with one board");
+        }
+    }
+
+    /**
+     * Falls back from a word length or number of boards that words.txt cannot fill, once
+     * the preload has read it, as {@link #readParameters()} describes. A fallback to one
+     * board brings back the default rows, hard mode and Absurdle.
+     *
+     * @param matrix the preloaded feedback matrix, built for a length that has words
+     */
+    private void fitWords(FeedbackMatrix matrix) {
+        boolean changed = false;
+        if (matrix.wordLength() != wordLength) {
+            System.out.println("No " + wordLength + "-letter words, playing with " + matrix.wordLength() + " letters");
+            wordLength = matrix.wordLength();
+            changed = true;
+        }
+        if (boards > 1 && dictionary.size(wordLength) < boards) {
+            System.out.println("Not enough " + wordLength + "-letter words for " + boards + " boards");
+            boards = 1;
+            if (!getParameters().getNamed().containsKey("rows")) {
+                rows = GameState.DEFAULT_ROWS;
+            }
+            changed = true;
+        }
+        if (changed) {
+            hardMode = getParameters().getUnnamed().contains("--hard") && boards == 1
+                ? new HardModeValidator(wordLength) : null;
+            absurdle = getParameters().getUnnamed().contains("--absurdle") && boards == 1;
+            primaryStage.setTitle(absurdle ? "Absurdle" : daily ? "Jordle #" + DailySchedule.today() : "Jordle");
+        }
     }
 
     /**
@@ -95,24 +324,35 @@ public class Jordle extends Application {
         VBox vBox = new VBox();
         vBox.setAlignment(Pos.CENTER);
         vBox.getStyleClass().add("jordle-welcome-box");
-        String imagePath = "jordleImage.jpg";
-        vBox.setStyle(String.format("-fx-background-image: url(%s);", imagePath));
+
+        // Decode the background once, off the FX thread, and show it when it is ready
+        Image image = new Image("jordleImage.jpg", true);
+        vBox.setBackground(new Background(new BackgroundImage(image, BackgroundRepeat.REPEAT,
+            BackgroundRepeat.REPEAT, BackgroundPosition.DEFAULT,
+            new BackgroundSize(WELCOME_IMAGE_WIDTH, BackgroundSize.AUTO, false, false, false, false))));
 
         // Jordle Title
         Label jordleLabel = new Label("Jordle");
         jordleLabel.getStyleClass().add("jordle-welcome-text");
 
+        // Username Field
+        TextField usernameField = new TextField();
+        usernameField.setPromptText("Username (optional)");
+        usernameField.setMaxWidth(240);
+        usernameField.textProperty().addListener((observable, oldText, newText) -> greet(newText));
+
+        // Welcome Label
+        welcomeLabel = new Label("Playing as a guest");
+        welcomeLabel.getStyleClass().add("jordle-welcome-stats");
+
         // Play Button
         Button playButton = new Button("Play (Enter)");
         playButton.getStyleClass().add("play-button");
-        vBox.getChildren().addAll(jordleLabel, playButton);
+        vBox.getChildren().addAll(jordleLabel, usernameField, welcomeLabel, playButton);
 
         // Play Button Action
         // Set scene to game scene
-        playButton.setOnAction(e -> {
-            primaryStage.setScene(gameScene);
-            primaryStage.show();
-        });
+        playButton.setOnAction(e -> play(usernameField.getText()));
 
         // Instructions Button
         Scene welcomeSceneReturn = new Scene(vBox, width, height);
@@ -120,14 +360,80 @@ public class Jordle extends Application {
         // Instructions Button Action
         welcomeSceneReturn.setOnKeyPressed((KeyEvent event) -> {
             if (event.getCode() == KeyCode.ENTER) {
-                primaryStage.setScene(gameScene);
-                primaryStage.show();
+                play(usernameField.getText());
             }
         });
 
         return welcomeSceneReturn;
     }
 
+    /**
+     * Shows the stats of the player whose name is being typed.
+     *
+     * @param name the name typed so far
+     */
+    private void greet(String name) {
+        typedName = name;
+        if (name.isBlank()) {
+            welcomeLabel.setText("Playing as a guest");
+            return;
+        }
+        try {
+            StatsStore.key(name);
+            String greeting = "Welcome, " + name.trim() + "!";
+            StatsStore stats = statsLoad().getNow(null);
+            welcomeLabel.setText(stats == null ? greeting : greeting + " " + stats.get(name).summary());
+        } catch (IllegalArgumentException iae) {
+            welcomeLabel.setText(iae.getMessage());
+        }
+    }
+
+    /**
+     * Starts opening the player stats on a background thread the first time a player needs
+     * them, so guests never touch the file. Once open, the name typed by then is greeted
+     * with its stats.
+     *
+     * @return the store, completing with null if it cannot be opened
+     */
+    private CompletableFuture<StatsStore> statsLoad() {
+        if (statsLoad == null) {
+            statsLoad = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new StatsStore(statsFile);
+                } catch (IOException ioe) {
+                    System.out.println("Error in opening player stats: " + ioe.getMessage());
+                    return null;
+                }
+            });
+            statsLoad.thenRun(() -> Platform.runLater(() -> greet(typedName)));
+        }
+        return statsLoad;
+    }
+
+    /**
+     * Starts playing as a player, or as a guest whose games are not recorded.
+     *
+     * @param name the username, or a blank String for a guest
+     */
+    private void play(String name) {
+        if (!name.isBlank()) {
+            try {
+                username = StatsStore.key(name);
+            } catch (IllegalArgumentException iae) {
+                // The welcome label already shows what is wrong with the name
+                return;
+            }
+        }
+        // Build the game scene on the first game and reuse it after that
+        if (gameScene == null) {
+            gameScene = createGameScene();
+            gameScene.getStylesheets().add("style.css");
+            logStartup("Game scene built");
+        }
+        primaryStage.setScene(gameScene);
+        primaryStage.show();
+    }
+
     /**
      * Creates the game scene for the Jordle game.
      *
@@ -153,8 +459,31 @@ public class Jordle extends Application {
      * @return a VBox containing all the UI elements for the game scene
      */
     private VBox createGameSceneUI() {
-        // Initialize Backend
-        backend = new Backend();
+        // Usually loaded in the background by now
+        FeedbackMatrix matrix = matrixLoad.join();
+        fitWords(matrix);
+        jordleGrid = new Tile[boards][rows][wordLength];
+        states = new GameState[boards];
+        for (int b = 0; b < boards; ++b) {
+            states[b] = new GameState(rows, wordLength);
+            states[b].setListener(new BoardView(b));
+        }
+
+        // Initialize Backend and Hint Solvers, one solver per board over a shared matrix
+        // Daily games give each day its own run of boards targets
+        backend = daily ? MultiBackend.daily(wordLength, boards, LocalDate.now(ZoneOffset.UTC))
+            : new MultiBackend(wordLength, boards);
+        if (absurdle) {
+            backend.setAdversarial(true);
+        }
+        solvers = new Solver[boards];
+        createSolvers(matrix, bookLoad.join());
+        log = logLoad.join();
+        records = new GameLog.Record[boards];
+        for (int b = 0; b < boards; ++b) {
+            records[b] = new GameLog.Record(rows);
+        }
+        startRecords();
 
         // Create Page Design
         VBox vBox = new VBox();
@@ -168,26 +497,37 @@ public class Jordle extends Application {
         instructionTitle = new Label("Guess a word!");
         instructionTitle.getStyleClass().add("jordle-instruction");
 
-        // Initialize Jordle Grid
-        GridPane grid = new GridPane();
-        grid.setHgap(10);
-        grid.setVgap(10);
-        grid.setAlignment(Pos.CENTER);
-
-        // Create Jordle Grid
-        for (int i = 0; i < 5; ++i) {
-            for (int j = 0; j < 6; ++j) {
-                Rectangle rect = new Rectangle();
-                rect.setWidth(50);
-                rect.setHeight(50);
-                rect.setFill(Color.WHITE);
-                rect.setStroke(Color.BLACK);
-
-                Label label = new Label();
-
-                jordleGrid[j][i].getChildren().addAll(rect, label);
-                grid.add(jordleGrid[j][i], i, j);
+        // Lay the boards out in up to two rows
+        int boardColumns = boards <= 4 ? boards : (boards + 1) / 2;
+        int boardRows = (boards + boardColumns - 1) / boardColumns;
+        GridPane boardsPane = new GridPane();
+        boardsPane.setHgap(20);
+        boardsPane.setVgap(10);
+        boardsPane.setAlignment(Pos.CENTER);
+
+        // Shrink the cells so long words, many rows and many boards still fit
+        int gap = boards == 1 ? 10 : 2;
+        int cellSize = Math.max(MIN_CELL_SIZE, Math.min(CELL_SIZE,
+            Math.min(GRID_WIDTH / (boardColumns * wordLength), GRID_HEIGHT / (boardRows * rows)) - gap));
+        String fontStyle = String.format("-fx-font-size: %dpx;", cellSize * FONT_SIZE / CELL_SIZE);
+
+        // Create Jordle Grids once; later turns only repaint and animate their tiles
+        String tileFontStyle = cellSize < CELL_SIZE ? fontStyle : null;
+        animator = new TileAnimator(boards * rows * wordLength);
+        animator.setEnabled(animations);
+        for (int b = 0; b < boards; ++b) {
+            GridPane grid = new GridPane();
+            grid.setHgap(gap);
+            grid.setVgap(gap);
+            grid.setAlignment(Pos.CENTER);
+
+            for (int i = 0; i < wordLength; ++i) {
+                for (int j = 0; j < rows; ++j) {
+                    jordleGrid[b][j][i] = new Tile(cellSize, tileFontStyle);
+                    grid.add(jordleGrid[b][j][i], i, j);
+                }
             }
+            boardsPane.add(grid, b % boardColumns, b / boardColumns);
         }
 
         // User Buttons HBox
@@ -219,55 +559,240 @@ public class Jordle extends Application {
             }
         );
 
+        Button hintButton = new Button("Hint (3)");
+        hintButton.getStyleClass().add("user-button");
+        hintButton.setOnAction(e -> showHint());
+
         // Add User Buttons to HBox
-        userButtons.getChildren().addAll(restartButton, instructionsButton);
+        userButtons.getChildren().addAll(restartButton, instructionsButton, hintButton);
 
         // Create Keyboard
         // VBox keyboard = createKeyboard();
-        keyboard = new Keyboard();
+        keyboard = new Keyboard(this);
         keyboard.setAlignment(Pos.CENTER);
 
         // Add Elements to VBox
-        vBox.getChildren().addAll(jordleTitle, instructionTitle, grid, userButtons, keyboard);
+        vBox.getChildren().addAll(jordleTitle, instructionTitle, boardsPane, userButtons, keyboard);
 
         return vBox;
     }
 
+    /**
+     * Creates the hint solvers of every board over a shared matrix.
+     *
+     * @param matrix the feedback matrix of the current words
+     * @param book the opening book for the matrix, or null if there is none
+     */
+    private void createSolvers(FeedbackMatrix matrix, OpeningBook book) {
+        for (int b = 0; b < boards; ++b) {
+            solvers[b] = new Solver(matrix);
+            solvers[b].setHardMode(hardMode != null);
+            solvers[b].setOpeningBook(book);
+        }
+    }
+
     /**
      * Resets the game state to start a new game round.
      * Resets keyboard colors, clears the Jordle grid, and sets the game over flag to false.
      */
     private void restartGame() {
+        animator.finishAll();
+        // Walking away from a guessed-at game loses it, so restarting cannot save a streak
+        if (boards == 1 && !states[0].isOver() && records[0].guessCount() > 0) {
+            records[0].setTarget(backend.getTargetCode(0));
+            recordStats();
+        }
+        // The backend takes targets from a reloaded words.txt, so the solvers must know its words
+        if (Dictionary.get() != dictionary) {
+            dictionary = Dictionary.get();
+            FeedbackMatrix matrix = FeedbackMatrix.load(dictionary, wordLength);
+            createSolvers(matrix, OpeningBook.load(matrix));
+        }
         backend.reset();
-        currentRow = 0;
-        currentCol = 0;
-        gameOver = false;
-        instructionTitle.setText("Guess a word!");
-        for (int i = 0; i < 6; ++i) {
-            for (int j = 0; j < 5; ++j) {
-                ((Rectangle) jordleGrid[i][j].getChildren().get(0)).setFill(Color.WHITE);
-                ((Label) jordleGrid[i][j].getChildren().get(1)).setText("");
-            }
+        if (daily) {
+            // Only the first game is the day's; the backend has moved on to random words
+            daily = false;
+            primaryStage.setTitle(absurdle ? "Absurdle" : "Jordle");
+        }
+        for (int b = 0; b < boards; ++b) {
+            states[b].reset();
+            solvers[b].reset();
+        }
+        if (hardMode != null) {
+            hardMode.reset();
         }
+        startRecords();
+        instructionTitle.setText(showRemaining ? remainingText() : "Guess a word!");
         keyboard.resetColor();
     }
 
+    /**
+     * Counts a new game and starts recording it on every board.
+     */
+    private void startRecords() {
+        Metrics.GAMES.increment();
+        long now = System.currentTimeMillis();
+        for (int b = 0; b < boards; ++b) {
+            records[b].start(wordLength, backend.getTargetCode(b), now);
+        }
+    }
+
+    /**
+     * Closes the game log and the player stats when the application exits.
+     */
+    @Override
+    public void stop() {
+        StatsStore stats = statsLoad == null ? null : statsLoad.join();
+        if (stats != null) {
+            try {
+                stats.close();
+            } catch (IOException ioe) {
+                System.out.println("Error in writing player stats: " + ioe.getMessage());
+            }
+        }
+        GameLog.Writer writer = logLoad == null ? null : logLoad.join();
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ioe) {
+                System.out.println("Error in writing game log: " + ioe.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether every board has been won or lost.
+     *
+     * @return true once the game is over on every board
+     */
+    private boolean isOver() {
+        for (GameState state : states) {
+            if (!state.isOver()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps one board's grid in step with its game state.
+     */
+    private class BoardView implements GameState.Listener {
+        private final int board;
+
+        /**
+         * Constructor for a BoardView.
+         *
+         * @param board the board whose grid is painted
+         */
+        BoardView(int board) {
+            this.board = board;
+        }
+
+        /**
+         * Repaints one cell of the Jordle grid from the game state.
+         *
+         * @param row the cell's row
+         * @param col the cell's column
+         */
+        @Override
+        public void cellChanged(int row, int col) {
+            long start = Metrics.now();
+            GameState state = states[board];
+            Tile tile = jordleGrid[board][row][col];
+            int result = state.result(row, col);
+            tile.setFill(RESULT_COLORS[result + 1]);
+            if (tile.setLetter(state.letter(row, col)) && result == GameState.UNSCORED) {
+                animator.pop(tile);
+            }
+            Metrics.REPAINT.recordSince(start);
+        }
+
+        /**
+         * Flips a scored row over one tile after another and updates the keyboard colors for
+         * its letters. With several
+         * boards each key shows its best result on any board.
+         *
+         * @param row the scored row
+         * @param pattern the base-3 feedback pattern of the row
+         */
+        @Override
+        public void rowScored(int row, int pattern) {
+            GameState state = states[board];
+            long start = Metrics.now();
+            keyboard.update(state.rowCode(row), pattern);
+            Metrics.REPAINT.recordSince(start);
+            for (int i = 0; i < wordLength; ++i) {
+                animator.flip(jordleGrid[board][row][i], i);
+            }
+        }
+    }
+
+    /**
+     * Shows the solver's best next guess in the instruction title, for the unfinished board
+     * with the fewest words left.
+     */
+    private void showHint() {
+        if (isOver()) {
+            return;
+        }
+        int best = -1;
+        for (int b = 0; b < boards; ++b) {
+            if (!states[b].isOver() && (best < 0 || solvers[b].remaining() < solvers[best].remaining())) {
+                best = b;
+            }
+        }
+        List<String> hints = solvers[best].bestGuesses(1);
+        if (hints.isEmpty()) {
+            instructionTitle.setText("No hint available!");
+        } else {
+            instructionTitle.setText("Hint: try " + hints.get(0).toUpperCase());
+        }
+    }
+
+    /**
+     * Creates the instruction title text for the remaining words mode.
+     *
+     * @return how many target words are still consistent with every guess, per board
+     */
+    private String remainingText() {
+        if (boards == 1) {
+            int remaining = solvers[0].remaining();
+            return remaining == 1 ? "1 word left!" : remaining + " words left!";
+        }
+        StringBuilder text = new StringBuilder("Words left:");
+        for (int b = 0; b < boards; ++b) {
+            text.append(' ').append(backend.isSolved(b) ? "-" : Integer.toString(solvers[b].remaining()));
+        }
+        return text.toString();
+    }
+
     /**
      * Opens a new stage with instructions for the game.
      */
     private void openInstructionPage() {
-        Stage instructionsStage = new Stage();
+        // Reuse the one window, bringing it to the front if it is already open
+        if (instructionsStage != null) {
+            instructionsStage.show();
+            instructionsStage.toFront();
+            return;
+        }
+        instructionsStage = new Stage();
+        instructionsStage.initOwner(primaryStage);
         instructionsStage.setTitle("Instructions");
         VBox instructionsVBox = new VBox();
         instructionsVBox.setAlignment(Pos.CENTER);
-        Label instructionsLabel = new Label("Try to guess the 5-letter word!\n"
+        Label instructionsLabel = new Label((boards == 1 ? "Try to guess the " + wordLength + "-letter word!\n"
+                                                : "Try to guess all " + boards + " " + wordLength + "-letter words!\n")
                                             + "Green means the character is in the right spot.\n"
                                             + "Yellow means the character is in the wrong spot.\n"
                                             + "Gray means the character is not in the word.\n"
                                             + "Press 1 to restart the game. Press 2 to open instructions.\n"
+                                            + "Press 3 for a hint. Press 4 to show the words left.\n"
+                                            + (hardMode != null ? "Hard mode: keep greens in place and reuse yellows.\n" : "")
                                             + "Press enter to submit your guess. Press escape to exit this page.");
         instructionsVBox.getChildren().add(instructionsLabel);
-        Scene instructionScene = new Scene(instructionsVBox, 375, 125);
+        Scene instructionScene = new Scene(instructionsVBox, 375, hardMode != null ? 160 : 140);
         instructionsStage.setScene(instructionScene);
         instructionsStage.show();
 
@@ -279,14 +804,44 @@ public class Jordle extends Application {
         });
     }
 
+    /**
+     * Shakes a row of every unfinished board to show that its guess was rejected.
+     *
+     * @param row the row
+     */
+    private void shakeRow(int row) {
+        for (int b = 0; b < boards; ++b) {
+            if (!states[b].isOver()) {
+                for (int i = 0; i < wordLength; ++i) {
+                    animator.shake(jordleGrid[b][row][i]);
+                }
+            }
+        }
+    }
+
     /**
      * Displays an alert message for an invalid word input.
      */
     public void openInvalidAlert() {
-        Alert a = new Alert(Alert.AlertType.ERROR);
-        a.setTitle("Invalid Word!");
-        a.setHeaderText("Input a word with 5 letters!");
-        a.showAndWait();
+        openInvalidAlert("Input a word with " + wordLength + " letters!");
+    }
+
+    /**
+     * Displays an alert message for an invalid word input.
+     *
+     * @param header what is wrong with the word
+     */
+    public void openInvalidAlert(String header) {
+        // Create the alert once; while it is open a new message just replaces the old one
+        if (invalidAlert == null) {
+            invalidAlert = new Alert(Alert.AlertType.ERROR);
+            invalidAlert.initOwner(primaryStage);
+            invalidAlert.setTitle("Invalid Word!");
+        }
+        invalidAlert.setHeaderText(header);
+        if (!invalidAlert.isShowing()) {
+            invalidAlert.showAndWait();
+        }
     }
 
 
@@ -296,6 +851,17 @@ public class Jordle extends Application {
      * @param event The key event
      */
     public void keyPressAction(KeyEvent event) {
+        long start = Metrics.now();
+        handleKey(event);
+        Metrics.KEY_PRESS.recordSince(start);
+    }
+
+    /**
+     * Acts on one key press.
+     *
+     * @param event The key event
+     */
+    private void handleKey(KeyEvent event) {
         String input = event.getText();
 
         // If 1 or 2 is pressed, restart game or open instruction page
@@ -306,142 +872,193 @@ public class Jordle extends Application {
             } else if (input.charAt(0) == '2') {
                 openInstructionPage();
                 return;
+            } else if (input.charAt(0) == '3') {
+                showHint();
+                return;
+            } else if (input.charAt(0) == '4') {
+                showRemaining = !showRemaining;
+                if (!isOver()) {
+                    instructionTitle.setText(showRemaining ? remainingText() : "Guess a word!");
+                }
+                return;
             }
         }
 
         // If Game Over, do nothing
-        if (gameOver) {
+        if (isOver()) {
             return;
         }
 
         // If Enter is Pressed, Check Guess and Determine if Game Over
         if (event.getCode() == KeyCode.ENTER) {
-            // If currentCol is not 5, do nothing
-            if (currentCol != 5) {
-                openInvalidAlert();
-            }
-
-            // Create Guess from Jordle Grid
-            String guess = "";
-            for (int i = 0; i < 5; ++i) {
-                guess += ((Label) jordleGrid[currentRow][i].getChildren().get(1)).getText();
-            }
-
-            String result;
+            enter();
+            return;
+        }
 
-            // Check if guess is valid
-            try {
-                result = backend.check(guess);
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-                return;
-            }
+        // If Backspace is Pressed, Delete Last Letter
+        if (event.getCode() == KeyCode.BACK_SPACE) {
+            erase();
+            return;
+        }
 
-            // Update Jordle Grid
-            int correctGuesses = 0;
-            for (int i = 0; i < 5; ++i) {
-                // Get Rectangle and Label
-                Rectangle rect = (Rectangle) jordleGrid[currentRow][i].getChildren().get(0);
-                Label label = (Label) jordleGrid[currentRow][i].getChildren().get(1);
-                char character = label.getText().charAt(0);
+        // If Shift is Pressed, Do Nothing
+        if (event.getCode() == KeyCode.SHIFT) {
+            return;
+        }
 
-                // Create Timeline
-                Timeline timeline = new Timeline();
-                timeline.setCycleCount(2);
-                timeline.setAutoReverse(true);
+        // If Input is Empty, Do Nothing
+        if (input.isEmpty()) {
+            return;
+        }
 
-                if (result.charAt(i) == 'g') {
-                    keyboard.setColor(character, Color.LIGHTGREEN);
-                    correctGuesses += 1;
-                    rect.setFill(Color.LIGHTGREEN);
+        // If Input is Not a Letter, Do Nothing
+        if (!input.isEmpty()
+                && !((int) input.charAt(0) >= (int) 'A'
+                        && (int) input.charAt(0) <= (int) 'Z')
+                && !((int) input.charAt(0) >= (int) 'a'
+                        && (int) input.charAt(0) <= (int) 'z')) {
+            return;
+        }
 
-                    KeyValue keyValueX = new KeyValue(rect.scaleXProperty(), 1.05);
-                    KeyValue keyValueY = new KeyValue(rect.scaleYProperty(), 1.05);
-                    KeyValue keyValueRotate = new KeyValue(rect.rotateProperty(), 10);
-                    KeyFrame keyFrame = new KeyFrame(Duration.millis(150), keyValueX, keyValueY, keyValueRotate);
+        letter(input.charAt(0));
+    }
 
-                    timeline.getKeyFrames().add(keyFrame);
+    /**
+     * Adds a letter to the current row of every unfinished board. Does nothing if the row
+     * is full.
+     *
+     * @param c the letter, case-insensitive
+     */
+    @Override
+    public void letter(char c) {
+        for (GameState state : states) {
+            state.type(c);
+        }
+    }
 
-                } else if (result.charAt(i) == 'y') {
-                    rect.setFill(Color.YELLOW);
+    /**
+     * Checks the current row as a guess on every unfinished board and determines if the
+     * game is over.
+     */
+    @Override
+    public void enter() {
+        // Unfinished boards all hold the same row, so read the guess from the first one
+        GameState current = null;
+        for (GameState state : states) {
+            if (!state.isOver()) {
+                current = state;
+                break;
+            }
+        }
+        if (current == null) {
+            return;
+        }
 
-                    KeyValue keyValueX = new KeyValue(rect.scaleXProperty(), 1.1);
-                    KeyValue keyValueY = new KeyValue(rect.scaleYProperty(), 1.1);
-                    KeyFrame keyFrame = new KeyFrame(Duration.millis(150), keyValueX, keyValueY);
+        // If the row is not full, do nothing
+        if (current.getCol() != wordLength) {
+            Metrics.INVALID_GUESSES.increment();
+            shakeRow(current.getRow());
+            openInvalidAlert();
+            return;
+        }
 
-                    timeline.getKeyFrames().add(keyFrame);
+        // Only words in the allowed guess list are scored
+        long code = current.rowCode(current.getRow());
+        if (!Dictionary.get().isAllowed(code)) {
+            Metrics.INVALID_GUESSES.increment();
+            shakeRow(current.getRow());
+            openInvalidAlert("Not in word list!");
+            return;
+        }
 
-                    if (keyboard.getColor(character) != Color.LIGHTGREEN) {
-                        keyboard.setColor(character, Color.YELLOW);
-                    }
-                } else if (result.charAt(i) == 'i') {
-                    rect.setFill(Color.GRAY);
+        // In hard mode the guess must fit every result so far
+        if (hardMode != null) {
+            String violation = hardMode.violation(code);
+            if (violation != null) {
+                Metrics.INVALID_GUESSES.increment();
+                shakeRow(current.getRow());
+                openInvalidAlert(violation);
+                return;
+            }
+        }
 
-                    if (keyboard.getColor(character) != Color.LIGHTGREEN
-                            && keyboard.getColor(character) != Color.YELLOW) {
-                        keyboard.setColor(character, Color.GRAY);
+        // Score the guess against every board in one call
+        int[] patterns = backend.check(code);
+        if (hardMode != null) {
+            hardMode.addResult(code, patterns[0]);
+        }
+        for (int b = 0; b < boards; ++b) {
+            if (!states[b].isOver()) {
+                states[b].submitPattern(patterns[b]);
+                solvers[b].addResult(code, patterns[b]);
+                records[b].add(code, patterns[b]);
+                if (states[b].isOver()) {
+                    // An adversarial target is only settled by the last guess
+                    records[b].setTarget(backend.getTargetCode(b));
+                }
+                if (states[b].isOver() && log != null) {
+                    try {
+                        log.append(records[b]);
+                    } catch (IOException ioe) {
+                        System.out.println("Error in writing game log: " + ioe.getMessage());
                     }
                 }
-                timeline.play();
-            }
-
-            // Update Row and Column
-            currentRow += 1;
-            currentCol = 0;
-
-            // If Correct Guesses == 5, Game Over, You Win!
-            if (correctGuesses == 5) {
-                instructionTitle.setText("You win!");
-                gameOver = true;
-                return;
             }
+        }
 
-            // If Current Row == 6, Game Over, You Lose!
-            if (currentRow == 6) {
-                instructionTitle.setText("You lose! The word was: " + backend.getTarget());
-                gameOver = true;
-                return;
-            }
+        // Streaks and guess counts only make sense for one board, so only those games count
+        if (boards == 1 && states[0].isOver()) {
+            recordStats();
+        }
 
+        // If Won, Game Over, You Win!
+        if (backend.isAllSolved()) {
+            instructionTitle.setText("You win!");
             return;
         }
 
-        // If Backspace is Pressed, Delete Last Letter
-        if (event.getCode() == KeyCode.BACK_SPACE) {
-            if (currentCol == 0) {
-                return;
+        // If Out of Rows, Game Over, You Lose!
+        if (isOver()) {
+            StringBuilder words = new StringBuilder(backend.getTarget(0));
+            for (int b = 1; b < boards; ++b) {
+                words.append(", ").append(backend.getTarget(b));
             }
-            currentCol -= 1;
-            ((Label) jordleGrid[currentRow][currentCol].getChildren().get(1)).setText("");
+            instructionTitle.setText((boards == 1 ? "You lose! The word was: " : "You lose! The words were: ")
+                + words);
             return;
         }
 
-        // If Shift is Pressed, Do Nothing
-        if (event.getCode() == KeyCode.SHIFT) {
-            return;
+        if (showRemaining) {
+            instructionTitle.setText(remainingText());
         }
+    }
 
-        // If Input is Empty, Do Nothing
-        if (input.isEmpty()) {
+    /**
+     * Records the single-board game in the player's stats, as a loss unless it was won.
+     */
+    private void recordStats() {
+        if (username == null) {
             return;
         }
-
-        // If Input is Not a Letter, Do Nothing
-        if (!input.isEmpty()
-                && !((int) input.charAt(0) >= (int) 'A'
-                        && (int) input.charAt(0) <= (int) 'Z')
-                && !((int) input.charAt(0) >= (int) 'a'
-                        && (int) input.charAt(0) <= (int) 'z')) {
+        // Opened while the player typed their name, so usually long done
+        StatsStore stats = statsLoad().join();
+        if (stats == null) {
             return;
         }
-
-        // If Current Col == 5, Do Nothing
-        if (currentCol == 5) {
-            return;
+        try {
+            stats.recordGame(username, records[0].target(), records[0].guessCount(), records[0].isWon());
+        } catch (IOException ioe) {
+            System.out.println("Error in writing player stats: " + ioe.getMessage());
         }
+    }
 
-        // Add Input to Jordle Grid
-        ((Label) jordleGrid[currentRow][currentCol].getChildren().get(1)).setText(input.toLowerCase());
-        currentCol += 1;
+    /**
+     * Deletes the last letter of the current row of every unfinished board.
+     */
+    @Override
+    public void erase() {
+        for (GameState state : states) {
+            state.erase();
+        }
     }
 }
\ No newline at end of file
@@ -1,10 +1,8 @@
 import javafx.scene.control.Button;
-import javafx.scene.input.KeyCode;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.geometry.Pos;
-import javafx.scene.robot.Robot;
 
 /**
  * Keyboard class for the Jordle game.
@@ -13,15 +11,34 @@ import javafx.scene.robot.Robot;
  * @version 1.0
  */
 public class Keyboard extends VBox {
-    private Robot r;
-    private Color[] set;
+    // Key states, in order of precedence: a key never goes back to a lower state in a game
+    public static final int WHITE = 0;
+    public static final int GRAY = 1;
+    public static final int YELLOW = 2;
+    public static final int GREEN = 3;
+
+    private static final Color[] COLORS = {Color.WHITE, Color.GRAY, Color.YELLOW, Color.LIGHTGREEN};
+    private static final String[] STYLES = new String[COLORS.length];
+    private static final String HOVER_STYLE = "-fx-background-color: lightgray;";
+
+    static {
+        for (int i = 0; i < COLORS.length; i++) {
+            STYLES[i] = toStyle(COLORS[i]);
+        }
+    }
+
+    private final GameInput input;
+    private final Button[] keyButtons = new Button[26];
+    private final byte[] states = new byte[26];
 
     /**
-     * Constructor for the Keyboard class.
+     * Constructor for the Keyboard class. Key presses are sent straight to the game input
+     * rather than being injected as OS key events.
+     *
+     * @param input the game input that receives the on-screen key presses
      */
-    public Keyboard() {
-        r = new Robot();
-        set = new Color[26];
+    public Keyboard(GameInput input) {
+        this.input = input;
 
         // QWERTY Keyboard layout
         String[] keys = {
@@ -52,39 +69,25 @@ public class Keyboard extends VBox {
             // Add buttons for each column of keys
             for (int col = 0; col < rowKeys.length(); col++) {
                 char key = rowKeys.charAt(col);
-
-                set[key - 'A'] = Color.WHITE;
+                int index = key - 'A';
 
                 // Create a button for the key
                 Button button = new Button(String.valueOf(key));
                 button.getStyleClass().add("keyboard-button");
                 button.setMinSize(40, 40);
                 keyboardRow.getChildren().add(button);
+                keyButtons[index] = button;
 
                 button.setOnMouseEntered(e -> {
-                    button.setStyle("-fx-background-color: lightgray;");
+                    button.setStyle(HOVER_STYLE);
                 });
 
                 button.setOnMouseExited(e -> {
-                    if (button.getText().length() != 1
-                            || button.getText().charAt(0) - 'A' < 0
-                            || button.getText().charAt(0) - 'A' > 25) {
-                        System.out.println("Invalid key");
-                        return;
-                    }
-                    Color keyColor = set[button.getText().charAt(0) - 'A'];
-                    int red = ((int) Math.round(keyColor.getRed() * 255)) << 24;
-                    int green = ((int) Math.round(keyColor.getGreen() * 255)) << 16;
-                    int blue = ((int) Math.round(keyColor.getBlue() * 255)) << 8;
-                    int opacity = ((int) Math.round(keyColor.getOpacity() * 255));
-                    button.setStyle("-fx-background-color: " + String.format("#%08X", (red + green + blue + opacity)));
+                    button.setStyle(STYLES[states[index]]);
                 });
 
-                // Add event handling to print the key when clicked
-                button.setOnAction(e -> {
-                    r.keyPress(KeyCode.valueOf(String.valueOf(key).toUpperCase()));
-                    r.keyRelease(KeyCode.valueOf(String.valueOf(key).toUpperCase()));
-                });
+                // Send the key to the game when clicked
+                button.setOnAction(e -> input.letter(key));
             }
 
             // Add extra buttons for row 1 and 2 format
@@ -98,10 +101,7 @@ public class Keyboard extends VBox {
                 button.getStyleClass().add("keyboard-button");
                 button.setMinSize(65, 40);
                 keyboardRow.getChildren().add(button);
-                button.setOnAction(e -> {
-                    r.keyPress(KeyCode.ENTER);
-                    r.keyRelease(KeyCode.ENTER);
-                });
+                button.setOnAction(e -> input.enter());
             } else if (row == 2) {
                 Button button = new Button();
                 button.getStyleClass().add("keyboard-button");
@@ -112,10 +112,7 @@ public class Keyboard extends VBox {
                 button.getStyleClass().add("keyboard-button");
                 button.setMinSize(65, 40);
                 keyboardRow.getChildren().add(button);
-                button.setOnAction(e -> {
-                    r.keyPress(KeyCode.BACK_SPACE);
-                    r.keyRelease(KeyCode.BACK_SPACE);
-                });
+                button.setOnAction(e -> input.erase());
             }
 
             // Add the row to the keyboard
@@ -124,47 +121,68 @@ public class Keyboard extends VBox {
     }
 
     /**
-     * Set the color of the given key in the keyboard. The key is case-insensitive.
+     * Converts a color into a background color style.
      *
-     * @param key the key to set the color for
-     * @param color the color to set the key to
+     * @param color the color
+     * @return the style String
      */
-    public void setColor(char key, Color color) {
-        // Go through each row
-        for (int row = 0; row < this.getChildren().size(); row++) {
-            // Go through each button
-            for (int i = 0; i < ((FlowPane) this.getChildren().get(row)).getChildren().size(); ++i) {
-                // Get button
-                Button button = (Button) ((FlowPane) this.getChildren().get(row)).getChildren().get(i);
-
-                // Set key to uppercase
-                if (key > 'Z') {
-                    key += 'A' - 'a';
-                }
-
-                // Set button color
-                if (button.getText().equals(String.valueOf(key))) {
-                    int red = ((int) Math.round(color.getRed() * 255)) << 24;
-                    int green = ((int) Math.round(color.getGreen() * 255)) << 16;
-                    int blue = ((int) Math.round(color.getBlue() * 255)) << 8;
-                    int opacity = ((int) Math.round(color.getOpacity() * 255));
-                    button.setStyle("-fx-background-color: " + String.format("#%08X", (red + green + blue + opacity)));
-                    set[button.getText().charAt(0) - 'A'] = color;
-                }
+    private static String toStyle(Color color) {
+        int red = ((int) Math.round(color.getRed() * 255)) << 24;
+        int green = ((int) Math.round(color.getGreen() * 255)) << 16;
+        int blue = ((int) Math.round(color.getBlue() * 255)) << 8;
+        int opacity = ((int) Math.round(color.getOpacity() * 255));
+        return "-fx-background-color: " + String.format("#%08X", (red + green + blue + opacity));
+    }
+
+    /**
+     * Updates the keys for every letter of a scored guess in one pass. Each key only moves
+     * up in precedence (gray, then yellow, then green), and only keys whose state changed
+     * are restyled.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @param pattern the base-3 feedback pattern of the guess
+     */
+    public void update(long guessCode, int pattern) {
+        int changed = 0;
+        for (int i = 0; i < Scorer.length(guessCode); i++) {
+            int index = Scorer.letter(guessCode, i) - 1;
+            int state = Scorer.digit(pattern, i) + 1;
+            if (state > states[index]) {
+                states[index] = (byte) state;
+                changed |= 1 << index;
             }
         }
+
+        // Apply the new styles together so they land in the same pulse
+        while (changed != 0) {
+            int index = Integer.numberOfTrailingZeros(changed);
+            keyButtons[index].setStyle(STYLES[states[index]]);
+            changed &= changed - 1;
+        }
     }
 
     /**
      * Resets the color of the keys in the keyboard to white.
      */
     public void resetColor() {
-        String keys = "QWERTYUIOPASDFGHJKLZXCVBNM";
-        for (char key : keys.toCharArray()) {
-            setColor(key, Color.WHITE);
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] != WHITE) {
+                states[i] = WHITE;
+                keyButtons[i].setStyle(STYLES[WHITE]);
+            }
         }
     }
 
+    /**
+     * Gets the state of the given key in the keyboard. The key is case-insensitive.
+     *
+     * @param key the key to get the state for
+     * @return WHITE, GRAY, YELLOW or GREEN
+     */
+    public int getState(char key) {
+        return states[(key | 0x20) - 'a'];
+    }
+
     /**
      * Gets the color of the given key in the keyboard. The key is case-insensitive.
      *
@@ -172,6 +190,6 @@ public class Keyboard extends VBox {
      * @return the color of the key
      */
     public Color getColor(char key) {
-        return set[key - 'a'];
+        return COLORS[getState(key)];
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,331 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Latency histograms and counters for the hot paths of the game and the server.
+ *
+ * Metrics are off unless the JVM is started with -Djordle.metrics=true. {@link #ENABLED} is
+ * a static final, so when it is false the JIT folds every {@link #now()},
+ * {@link Histogram#recordSince(long)} and {@link Counter#increment()} down to nothing.
+ * When enabled, recording is lock-free and allocation-free. The metrics are published
+ * over JMX as jordle:type=Metrics and printed every -Djordle.metrics.interval seconds
+ * (60 by default, 0 to turn the dump off).
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("jordle.metrics");
+
+    public static final Histogram CHECK = new Histogram("check");
+    public static final Histogram KEY_PRESS = new Histogram("keyPress");
+    public static final Histogram REPAINT = new Histogram("repaint");
+    public static final Histogram ANIMATION_START = new Histogram("animationStart");
+    private static final Histogram[] HISTOGRAMS = {CHECK, KEY_PRESS, REPAINT, ANIMATION_START};
+
+    public static final Counter GUESSES = new Counter();
+    public static final Counter INVALID_GUESSES = new Counter();
+    public static final Counter GAMES = new Counter();
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static boolean started = false;
+
+    private Metrics() {
+    }
+
+    /**
+     * Reads the clock for a later {@link Histogram#recordSince(long)}.
+     *
+     * @return the current {@link System#nanoTime()}, or 0 when metrics are disabled
+     */
+    public static long now() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Publishes the metrics over JMX and starts the periodic dump. Does nothing when
+     * metrics are disabled or already started.
+     */
+    public static synchronized void start() {
+        if (!ENABLED || started) {
+            return;
+        }
+        started = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(),
+                new ObjectName("jordle:type=Metrics"));
+        } catch (JMException jme) {
+            System.out.println("Error in registering metrics: " + jme.getMessage());
+        }
+
+        long interval = Long.getLong("jordle.metrics.interval", 60);
+        if (interval > 0) {
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jordle-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleAtFixedRate(() -> System.out.print(report()), interval, interval,
+                TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Formats every counter and histogram as a text table, latencies in microseconds.
+     *
+     * @return the report
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "guesses %d, invalid %d, games %d%n",
+            GUESSES.get(), INVALID_GUESSES.get(), GAMES.get()));
+        report.append(String.format(Locale.ROOT, "%-16s %10s %10s %10s %10s %10s %10s%n",
+            "us", "count", "p50", "p90", "p99", "p99.9", "max"));
+        for (Histogram histogram : HISTOGRAMS) {
+            report.append(String.format(Locale.ROOT, "%-16s %10d", histogram.name, histogram.count()));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(Locale.ROOT, " %10.1f", histogram.percentile(percentile) / 1e3));
+            }
+            report.append(String.format(Locale.ROOT, " %10.1f%n", histogram.max() / 1e3));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    public static void reset() {
+        GUESSES.adder.reset();
+        INVALID_GUESSES.adder.reset();
+        GAMES.adder.reset();
+        for (Histogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * An event counter.
+     */
+    public static final class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        private Counter() {
+        }
+
+        /**
+         * Counts one event, if metrics are enabled.
+         */
+        public void increment() {
+            if (ENABLED) {
+                adder.increment();
+            }
+        }
+
+        /**
+         * @return the number of events counted
+         */
+        public long get() {
+            return adder.sum();
+        }
+    }
+
+    /**
+     * A log-linear latency histogram in the style of HdrHistogram.
+     *
+     * Values below 32 ns get a bucket each. Above that, each power of two is split into 32
+     * buckets, so every recorded value is kept to within about 3%. Values from 2^40 ns
+     * (about 18 minutes) up share the last bucket. Recording is one increment of an
+     * {@link AtomicLongArray} slot.
+     */
+    public static final class Histogram {
+        private static final int SUB_BITS = 5;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final long MAX_VALUE = (1L << 40) - 1;
+        private static final int BUCKETS = (40 - SUB_BITS + 1) * SUB_COUNT;
+
+        private final String name;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Constructor for a Histogram outside the registered metrics, for harnesses.
+         *
+         * @param name the name shown in reports
+         */
+        public Histogram(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records the time since a {@link Metrics#now()}, if metrics are enabled.
+         *
+         * @param start the start time from {@link Metrics#now()}
+         */
+        public void recordSince(long start) {
+            if (ENABLED) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Records a value whether or not metrics are enabled.
+         *
+         * @param nanos the value in nanoseconds; negative values count as 0
+         */
+        public void record(long nanos) {
+            long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+            counts.getAndIncrement(index(value));
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private static int index(long value) {
+            if (value < SUB_COUNT) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+            return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+        }
+
+        // The largest value that falls in a bucket
+        private static long highest(int index) {
+            int shift = index / SUB_COUNT - 1;
+            if (shift < 0) {
+                return index;
+            }
+            return ((long) (SUB_COUNT + index % SUB_COUNT) << shift) + (1L << shift) - 1;
+        }
+
+        /**
+         * @return the number of values recorded
+         */
+        public long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * @param percentile the percentile, from 0 to 100
+         * @return the value at the percentile in nanoseconds, or 0 if nothing was recorded
+         */
+        public long percentile(double percentile) {
+            long count = count();
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS && count > 0; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(highest(i), max.get());
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the largest value recorded in nanoseconds
+         */
+        public long max() {
+            return max.get();
+        }
+
+        /**
+         * Clears the histogram. Values recorded at the same time may be lost.
+         */
+        public void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            max.set(0);
+        }
+    }
+
+    /**
+     * The JMX view of the metrics.
+     */
+    public interface MetricsMXBean {
+        /**
+         * @return the number of scored guesses
+         */
+        long getGuesses();
+
+        /**
+         * @return the number of rejected guesses
+         */
+        long getInvalidGuesses();
+
+        /**
+         * @return the number of games started
+         */
+        long getGames();
+
+        /**
+         * @return the count, percentiles and max of every histogram in nanoseconds, keyed
+         *         like check.p99
+         */
+        Map<String, Long> getLatencyNanos();
+
+        /**
+         * @return the text report
+         */
+        String getReport();
+
+        /**
+         * Clears every counter and histogram.
+         */
+        void reset();
+    }
+
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public long getGuesses() {
+            return GUESSES.get();
+        }
+
+        @Override
+        public long getInvalidGuesses() {
+            return INVALID_GUESSES.get();
+        }
+
+        @Override
+        public long getGames() {
+            return GAMES.get();
+        }
+
+        @Override
+        public Map<String, Long> getLatencyNanos() {
+            Map<String, Long> latency = new LinkedHashMap<>();
+            for (Histogram histogram : HISTOGRAMS) {
+                latency.put(histogram.name + ".count", histogram.count());
+                for (double percentile : PERCENTILES) {
+                    latency.put(histogram.name + ".p" + (percentile == (int) percentile
+                        ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                        histogram.percentile(percentile));
+                }
+                latency.put(histogram.name + ".max", histogram.max());
+            }
+            return latency;
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
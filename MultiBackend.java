@@ -0,0 +1,208 @@
+import java.time.LocalDate;
+
+/**
+ * Backend for multi-board Jordle, where every guess is played on several boards at once,
+ * each with its own target (Quordle is 4 boards, Octordle 8 and Sedecordle 16).
+ *
+ * The targets are kept packed in one long[] and scored together with
+ * {@link Scorer#scoreAll(long, long[], int, int[])} into a reused int[], so a guess costs
+ * one call and no allocation however many boards there are. Targets come in turn from
+ * the {@link DailySchedule}, like a {@link Backend}'s, and a daily MultiBackend moves to a
+ * random pass after the day's boards. A single board can also be played
+ * adversarially, with an {@link Adversary} choosing its target as the game goes.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class MultiBackend {
+    public static final int MAX_BOARDS = 16;
+
+    private final int wordLength;
+    private long game;
+    private boolean daily = false;
+    private final long[] targets;
+    private final int[] patterns;
+    private Adversary adversary;
+
+    // Bit k is set once board k's target has been guessed
+    private int solved;
+
+    /**
+     * Constructor for a MultiBackend starting at the beginning of a random pass through the
+     * schedule.
+     *
+     * @param wordLength the number of letters in the targets, from 4 to 12
+     * @param boards the number of boards, from 1 to 16
+     * @throws IllegalArgumentException if the board count is out of range or words.txt does
+     *                                  not have enough words of that length
+     */
+    public MultiBackend(int wordLength, int boards) {
+        this(wordLength, boards, DailySchedule.shared(wordLength).randomPass());
+    }
+
+    /**
+     * Constructor for a MultiBackend that plays the schedule from a given game.
+     *
+     * @param wordLength the number of letters in the targets, from 4 to 12
+     * @param boards the number of boards, from 1 to 16
+     * @param game the game number of the first board's first target
+     * @throws IllegalArgumentException if the board count is out of range or words.txt does
+     *                                  not have enough words of that length
+     */
+    public MultiBackend(int wordLength, int boards, long game) {
+        if (boards < 1 || boards > MAX_BOARDS) {
+            throw new IllegalArgumentException("Board count must be from 1 to " + MAX_BOARDS);
+        }
+        if (Dictionary.get().size(wordLength) < boards) {
+            throw new IllegalArgumentException("words.txt has fewer than " + boards + " " + wordLength
+                + " letter words");
+        }
+        this.wordLength = wordLength;
+        this.game = game;
+        targets = new long[boards];
+        patterns = new int[boards];
+        reset();
+    }
+
+    /**
+     * Creates a MultiBackend whose first targets are a day's run of boards targets, so
+     * every day has its own boards.
+     *
+     * @param wordLength the number of letters in the targets, from 4 to 12
+     * @param boards the number of boards, from 1 to 16
+     * @param date the day
+     * @return the MultiBackend
+     * @throws IllegalArgumentException if the board count is out of range or words.txt does
+     *                                  not have enough words of that length
+     */
+    public static MultiBackend daily(int wordLength, int boards, LocalDate date) {
+        MultiBackend backend = new MultiBackend(wordLength, boards, DailySchedule.day(date) * boards);
+        backend.daily = true;
+        return backend;
+    }
+
+    /**
+     * Takes the next targets from the schedule, all different from each other, and clears
+     * the solved boards.
+     */
+    public void reset() {
+        DailySchedule schedule = DailySchedule.shared(wordLength);
+        if (daily) {
+            // The next game numbers are tomorrow's boards, so move to a random pass instead
+            game = schedule.randomPass();
+            daily = false;
+        }
+        for (int k = 0; k < targets.length; k++) {
+            long code;
+            boolean repeated;
+            do {
+                // Only a new pass through the schedule can bring back a word already picked
+                code = schedule.code(game++);
+                repeated = false;
+                for (int j = 0; j < k; j++) {
+                    repeated |= targets[j] == code;
+                }
+            } while (repeated);
+            targets[k] = code;
+        }
+        if (adversary != null) {
+            // Follow a reloaded words.txt, as the schedule does
+            if (adversary.isStale()) {
+                adversary = new Adversary(wordLength);
+            }
+            adversary.reset();
+            targets[0] = adversary.target();
+        }
+        solved = 0;
+    }
+
+    /**
+     * Scores a guess against every board's target at once.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @return the base-3 feedback pattern for each board. The array is reused, so it is only
+     *         valid until the next call.
+     * @throws IllegalArgumentException if the guess is not a packed word of the right length
+     */
+    public int[] check(long guessCode) {
+        if (guessCode < 0 || Scorer.length(guessCode) != wordLength) {
+            throw new IllegalArgumentException("Guess is not a " + wordLength + " letter word");
+        }
+        long start = Metrics.now();
+        if (adversary != null) {
+            patterns[0] = adversary.respond(guessCode);
+            targets[0] = adversary.target();
+        } else {
+            Scorer.scoreAll(guessCode, targets, wordLength, patterns);
+        }
+        int allGreen = Scorer.allGreen(wordLength);
+        for (int k = 0; k < patterns.length; k++) {
+            if (patterns[k] == allGreen) {
+                solved |= 1 << k;
+            }
+        }
+        Metrics.GUESSES.increment();
+        Metrics.CHECK.recordSince(start);
+        return patterns;
+    }
+
+    /**
+     * Turns adversarial mode, as in Absurdle, on or off and starts a new game. See
+     * {@link Backend#setAdversarial(boolean)}.
+     *
+     * @param adversarial true to defer the target
+     * @throws IllegalStateException if there is more than one board
+     */
+    public void setAdversarial(boolean adversarial) {
+        if (adversarial && targets.length > 1) {
+            throw new IllegalStateException("Adversarial mode needs a single board");
+        }
+        adversary = adversarial ? new Adversary(wordLength) : null;
+        reset();
+    }
+
+    /**
+     * @param board the board
+     * @return true if the board's target has been guessed
+     */
+    public boolean isSolved(int board) {
+        return (solved & (1 << board)) != 0;
+    }
+
+    /**
+     * @return true if every board's target has been guessed
+     */
+    public boolean isAllSolved() {
+        return Integer.bitCount(solved) == targets.length;
+    }
+
+    /**
+     * @param board the board
+     * @return the board's target word
+     */
+    public String getTarget(int board) {
+        return Scorer.decode(targets[board]);
+    }
+
+    /**
+     * @param board the board
+     * @return the board's target packed with {@link Scorer#encode(CharSequence)}
+     */
+    public long getTargetCode(int board) {
+        return targets[board];
+    }
+
+    /**
+     * @return the number of boards
+     */
+    public int getBoards() {
+        return targets.length;
+    }
+
+    /**
+     * @return the number of letters in the targets
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+}
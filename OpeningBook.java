@@ -0,0 +1,409 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed decision tree giving the guess to make after any sequence of results.
+ *
+ * The best guesses early in a game only depend on the word list, so rather than have every
+ * solver search for them, the tree is built once offline with {@link #main(String[])} and
+ * saved next to words.txt as opening-&lt;key&gt;.bin, where the key is the
+ * {@link FeedbackMatrix#key()} of its word lists. At each node the builder picks the
+ * minimax guess: the one whose largest group of answers with the same result is smallest,
+ * then the one with the most groups, then one that could win.
+ *
+ * The file is flat arrays, little-endian, memory-mapped by {@link #load(FeedbackMatrix)}:
+ *
+ *   header          i32 magic, version, word length, node count, edge count, answer
+ *                   count, i64 key
+ *   node x count    i64 guess, i32 first edge, i32 edge count
+ *   edge x count    i32 pattern, i32 child node
+ *
+ * A node's edges are sorted by pattern, so following a result is a binary search over at
+ * most 3^length edges, and looking up a whole game is O(depth) hops with no scoring.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class OpeningBook {
+    public static final int ROOT = 0;
+
+    private static final int MAGIC = 0x4A4F424B; // "JOBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int NODE_BYTES = 16;
+    private static final int EDGE_BYTES = 8;
+
+    private final ByteBuffer data;
+    private final int nodeCount;
+    private final int edgeBase;
+
+    private OpeningBook(ByteBuffer data) {
+        this.data = data;
+        nodeCount = data.getInt(12);
+        edgeBase = HEADER_BYTES + nodeCount * NODE_BYTES;
+    }
+
+    /**
+     * Builds the decision tree for a feedback matrix.
+     *
+     * @param matrix the feedback matrix holding the guesses and answers
+     * @param maxDepth the number of guesses the tree covers; later guesses are left to the
+     *                 solver
+     * @return the opening book, held in memory
+     */
+    public static OpeningBook build(FeedbackMatrix matrix, int maxDepth) {
+        Builder builder = new Builder(matrix, maxDepth);
+        int[] answers = new int[matrix.answerCount()];
+        for (int a = 0; a < answers.length; a++) {
+            answers[a] = a;
+        }
+        if (answers.length > 0) {
+            builder.node(answers, 1);
+        }
+        return new OpeningBook(builder.toBuffer());
+    }
+
+    /**
+     * Memory-maps the saved opening book for the words of a feedback matrix in the current
+     * directory.
+     *
+     * @param matrix the feedback matrix the book was built from
+     * @return the opening book, or null if none has been built for these words
+     */
+    public static OpeningBook load(FeedbackMatrix matrix) {
+        return load(matrix, Paths.get("."));
+    }
+
+    /**
+     * Memory-maps the saved opening book for the words of a feedback matrix.
+     *
+     * @param matrix the feedback matrix the book was built from
+     * @param dir the directory holding opening book files
+     * @return the opening book, or null if none has been built for these words
+     */
+    public static OpeningBook load(FeedbackMatrix matrix, Path dir) {
+        Path file = file(matrix, dir);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION
+                    || data.getInt(8) != matrix.wordLength() || data.getInt(20) != matrix.answerCount()
+                    || data.getLong(24) != matrix.key()
+                    || channel.size() != HEADER_BYTES + (long) data.getInt(12) * NODE_BYTES
+                        + (long) data.getInt(16) * EDGE_BYTES) {
+                return null;
+            }
+            return new OpeningBook(data);
+        } catch (IOException ioe) {
+            System.out.println("Error in reading " + file + ": " + ioe.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the file an opening book is saved in.
+     *
+     * @param matrix the feedback matrix the book is built from
+     * @param dir the directory holding opening book files
+     * @return the path of the file
+     */
+    public static Path file(FeedbackMatrix matrix, Path dir) {
+        return dir.resolve(String.format("opening-%016x.bin", matrix.key()));
+    }
+
+    /**
+     * Writes the book to a file, through a temporary file so a crash never leaves half of one.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "opening-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer all = data.duplicate();
+                all.clear();
+                while (all.hasRemaining()) {
+                    channel.write(all);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(tmp);
+            throw ioe;
+        }
+    }
+
+    /**
+     * Gets the guess to make at a node.
+     *
+     * @param node the node, from {@link #ROOT} and {@link #next(int, long, int)}
+     * @return the guess packed with {@link Scorer#encode(CharSequence)}, or -1 if the node
+     *         is off the book
+     */
+    public long guess(int node) {
+        return node < 0 ? -1 : data.getLong(HEADER_BYTES + node * NODE_BYTES);
+    }
+
+    /**
+     * Follows the result of a guess to the next node.
+     *
+     * @param node the current node
+     * @param guessCode the guess that was made
+     * @param pattern the base-3 feedback pattern of the guess
+     * @return the next node, or -1 if the guess was not the book's, the result ends the game
+     *         or the tree stops here
+     */
+    public int next(int node, long guessCode, int pattern) {
+        if (node < 0 || guessCode != guess(node)) {
+            return -1;
+        }
+        int offset = HEADER_BYTES + node * NODE_BYTES;
+        int low = data.getInt(offset + 8);
+        int high = low + data.getInt(offset + 12) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int edgePattern = data.getInt(edgeBase + mid * EDGE_BYTES);
+            if (edgePattern < pattern) {
+                low = mid + 1;
+            } else if (edgePattern > pattern) {
+                high = mid - 1;
+            } else {
+                return data.getInt(edgeBase + mid * EDGE_BYTES + 4);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of nodes in the tree
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Grows the tree depth first, picking the minimax guess for each group of answers.
+     */
+    private static final class Builder {
+        // Groups smaller than this are scored on the calling thread
+        private static final long PARALLEL_WORK = 1 << 16;
+
+        private final FeedbackMatrix matrix;
+        private final int maxDepth;
+        private final int allGreen;
+        private final int[] mark;
+        private int stamp;
+
+        private long[] nodeGuess = new long[1024];
+        private int[] nodeFirstEdge = new int[1024];
+        private int[] nodeEdgeCount = new int[1024];
+        private int nodes;
+        private int[] edgePattern = new int[1024];
+        private int[] edgeChild = new int[1024];
+        private int edges;
+
+        Builder(FeedbackMatrix matrix, int maxDepth) {
+            this.matrix = matrix;
+            this.maxDepth = maxDepth;
+            allGreen = Scorer.allGreen(matrix.wordLength());
+            mark = new int[matrix.answerCount()];
+        }
+
+        /**
+         * Adds the node for a group of answers and, below it, the nodes for each result.
+         *
+         * @param answers the answers still possible, which the node may reorder
+         * @param depth the number of the guess made at this node, from 1
+         * @return the node
+         */
+        int node(int[] answers, int depth) {
+            int node = nodes++;
+            if (node == nodeGuess.length) {
+                nodeGuess = Arrays.copyOf(nodeGuess, node * 2);
+                nodeFirstEdge = Arrays.copyOf(nodeFirstEdge, node * 2);
+                nodeEdgeCount = Arrays.copyOf(nodeEdgeCount, node * 2);
+            }
+            if (answers.length == 1) {
+                nodeGuess[node] = matrix.answerCode(answers[0]);
+                return node;
+            }
+
+            // No guess may tell the answers apart, so guess them in turn, which always
+            // takes one off
+            int guess = bestGuess(answers);
+            long guessCode = guess >= 0 ? matrix.guessCode(guess) : matrix.answerCode(answers[0]);
+            nodeGuess[node] = guessCode;
+            if (depth >= maxDepth) {
+                return node;
+            }
+
+            // Group the answers by result, ordered by pattern
+            long[] keyed = new long[answers.length];
+            for (int i = 0; i < answers.length; i++) {
+                int pattern = guess >= 0 ? matrix.pattern(guess, answers[i])
+                    : Scorer.score(guessCode, matrix.answerCode(answers[i]), matrix.wordLength());
+                keyed[i] = (long) pattern << 32 | answers[i];
+            }
+            Arrays.sort(keyed);
+            int groups = 0;
+            for (int i = 0; i < keyed.length; i++) {
+                int pattern = (int) (keyed[i] >>> 32);
+                if (pattern != allGreen && (i == 0 || pattern != (int) (keyed[i - 1] >>> 32))) {
+                    groups++;
+                }
+            }
+
+            // Reserve the node's edges together so they can be binary searched
+            int first = edges;
+            edges += groups;
+            if (edges > edgePattern.length) {
+                edgePattern = Arrays.copyOf(edgePattern, Math.max(edges, edgePattern.length * 2));
+                edgeChild = Arrays.copyOf(edgeChild, edgePattern.length);
+            }
+            nodeFirstEdge[node] = first;
+            nodeEdgeCount[node] = groups;
+
+            int edge = first;
+            for (int start = 0; start < keyed.length;) {
+                int pattern = (int) (keyed[start] >>> 32);
+                int end = start;
+                while (end < keyed.length && (int) (keyed[end] >>> 32) == pattern) {
+                    end++;
+                }
+                if (pattern != allGreen) {
+                    int[] group = new int[end - start];
+                    for (int i = 0; i < group.length; i++) {
+                        group[i] = (int) keyed[start + i];
+                    }
+                    // The child may grow the edge arrays, so only index them afterwards
+                    int child = node(group, depth + 1);
+                    edgePattern[edge] = pattern;
+                    edgeChild[edge] = child;
+                    edge++;
+                }
+                start = end;
+            }
+            return node;
+        }
+
+        /**
+         * Picks the guess whose largest result group is smallest, then the one with the most
+         * groups, then one that is itself a possible answer, then the first.
+         *
+         * @return the guess, or -1 if every guess leaves the answers in one group
+         */
+        private int bestGuess(int[] answers) {
+            stamp++;
+            for (int answer : answers) {
+                mark[answer] = stamp;
+            }
+            long[] scores = new long[matrix.guessCount()];
+            IntStream range = IntStream.range(0, scores.length);
+            if ((long) answers.length * scores.length >= PARALLEL_WORK) {
+                range = range.parallel();
+            }
+            range.forEach(g -> scores[g] = score(g, answers));
+
+            int best = 0;
+            for (int g = 1; g < scores.length; g++) {
+                if (scores[g] < scores[best]) {
+                    best = g;
+                }
+            }
+            return scores.length == 0 || scores[best] >>> 32 == answers.length ? -1 : best;
+        }
+
+        private long score(int guess, int[] answers) {
+            PatternSplit split = PatternSplit.local(matrix.wordLength());
+            split.split(matrix, guess, answers, answers.length);
+            int largest = 0;
+            for (int group = 0; group < split.groups(); group++) {
+                largest = Math.max(largest, split.groupSize(group));
+            }
+            int groups = split.groups();
+            int answer = matrix.answerOfGuess(guess);
+            boolean couldWin = answer >= 0 && mark[answer] == stamp;
+            return (long) largest << 32 | (long) (answers.length - groups) << 1 | (couldWin ? 0 : 1);
+        }
+
+        /**
+         * Lays the tree out in the file format.
+         */
+        ByteBuffer toBuffer() {
+            ByteBuffer data = ByteBuffer.allocate(HEADER_BYTES + nodes * NODE_BYTES + edges * EDGE_BYTES);
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            data.putInt(MAGIC).putInt(VERSION).putInt(matrix.wordLength()).putInt(nodes).putInt(edges)
+                .putInt(matrix.answerCount()).putLong(matrix.key());
+            for (int n = 0; n < nodes; n++) {
+                data.putLong(nodeGuess[n]).putInt(nodeFirstEdge[n]).putInt(nodeEdgeCount[n]);
+            }
+            for (int e = 0; e < edges; e++) {
+                data.putInt(edgePattern[e]).putInt(edgeChild[e]);
+            }
+            data.clear();
+            return data;
+        }
+    }
+
+    /**
+     * Builds and saves the opening book for the words of one length in words.txt, then plays
+     * every answer through it as a check.
+     *
+     * @param args optionally the word length, the number of guesses to cover (all by default)
+     *             and an answers file, as for the {@link Simulator}
+     * @throws IOException if the book cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : Scorer.WORD_LENGTH;
+        int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        Dictionary answers = args.length > 2 ? Dictionary.load(Paths.get(args[2])) : Dictionary.get();
+        FeedbackMatrix matrix = FeedbackMatrix.load(length, Dictionary.get().codes(length), answers.codes(length),
+            Paths.get("."));
+
+        long start = System.nanoTime();
+        OpeningBook book = build(matrix, maxDepth);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Path file = file(matrix, Paths.get("."));
+        book.save(file);
+
+        // Play every answer through the book
+        long totalGuesses = 0;
+        int worst = 0;
+        int offBook = 0;
+        for (int a = 0; a < matrix.answerCount(); a++) {
+            long target = matrix.answerCode(a);
+            int node = ROOT;
+            int guesses = 1;
+            while (book.guess(node) >= 0 && book.guess(node) != target) {
+                long guess = book.guess(node);
+                node = book.next(node, guess, Scorer.score(guess, target, length));
+                guesses++;
+            }
+            if (node < 0) {
+                offBook++;
+            } else {
+                totalGuesses += guesses;
+                worst = Math.max(worst, guesses);
+            }
+        }
+        int solved = matrix.answerCount() - offBook;
+        System.out.printf("Built %d nodes in %d ms, saved to %s (%d bytes)%n", book.nodeCount(), millis, file,
+            Files.size(file));
+        System.out.printf("Solves %d of %d answers, average %.3f guesses, worst %d%n", solved,
+            matrix.answerCount(), solved == 0 ? 0.0 : (double) totalGuesses / solved, worst);
+    }
+}
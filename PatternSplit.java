@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * Splits answers into groups by the feedback pattern a guess gives against each, for the
+ * solvers to score guesses by their groups.
+ *
+ * A split counts patterns in a primitive int[] with a slot per pattern, 243 for five
+ * letters, and remembers each answer's pattern. It then lists the groups by walking the
+ * answers again rather than every slot, which matters for long words, and zeroes the
+ * counts as it goes, so the next split reuses the arrays with no allocation. A split is
+ * used by one thread at a time; {@link #local(int)} gives each thread its own.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class PatternSplit {
+    private static final ThreadLocal<PatternSplit> LOCAL = new ThreadLocal<>();
+
+    private int[] counts;
+    private int[] patterns;
+    private int[] groupPatterns;
+    private int[] groupSizes;
+    private int groups;
+
+    /**
+     * Constructor for a PatternSplit of up to a number of answers.
+     *
+     * @param wordLength the word length
+     * @param capacity the number of answers to make room for; larger splits grow the arrays
+     */
+    public PatternSplit(int wordLength, int capacity) {
+        counts = new int[Scorer.patternCount(wordLength)];
+        patterns = new int[capacity];
+        groupPatterns = new int[capacity];
+        groupSizes = new int[capacity];
+    }
+
+    /**
+     * Gets the calling thread's split, for work fanned out over the fork-join pool.
+     *
+     * @param wordLength the word length
+     * @return the split, only to be used until the thread asks again
+     */
+    public static PatternSplit local(int wordLength) {
+        PatternSplit split = LOCAL.get();
+        if (split == null) {
+            split = new PatternSplit(wordLength, 0);
+            LOCAL.set(split);
+        } else if (split.counts.length < Scorer.patternCount(wordLength)) {
+            split.counts = new int[Scorer.patternCount(wordLength)];
+        }
+        return split;
+    }
+
+    /**
+     * Splits answers by the patterns of a guess in a feedback matrix.
+     *
+     * @param matrix the feedback matrix
+     * @param guess the guess index
+     * @param answers the answer indices, in the first count slots
+     * @param count the number of answers
+     */
+    public void split(FeedbackMatrix matrix, int guess, int[] answers, int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            int pattern = matrix.pattern(guess, answers[i]);
+            patterns[i] = pattern;
+            counts[pattern]++;
+        }
+        group(count);
+    }
+
+    /**
+     * Splits answers by the patterns of a guess, scoring each one.
+     *
+     * @param guessCode the guess packed with {@link Scorer#encode(CharSequence)}
+     * @param words the packed words the answers index
+     * @param answers the answer indices, in the first count slots
+     * @param count the number of answers
+     * @param wordLength the word length
+     */
+    public void split(long guessCode, long[] words, int[] answers, int count, int wordLength) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            int pattern = Scorer.score(guessCode, words[answers[i]], wordLength);
+            patterns[i] = pattern;
+            counts[pattern]++;
+        }
+        group(count);
+    }
+
+    private void ensureCapacity(int count) {
+        if (patterns.length < count) {
+            patterns = Arrays.copyOf(patterns, count);
+            groupPatterns = Arrays.copyOf(groupPatterns, count);
+            groupSizes = Arrays.copyOf(groupSizes, count);
+        }
+    }
+
+    // Lists the groups in the order of their first answers, zeroing the counts
+    private void group(int count) {
+        groups = 0;
+        for (int i = 0; i < count; i++) {
+            int pattern = patterns[i];
+            int size = counts[pattern];
+            if (size != 0) {
+                counts[pattern] = 0;
+                groupPatterns[groups] = pattern;
+                groupSizes[groups] = size;
+                groups++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of groups in the last split
+     */
+    public int groups() {
+        return groups;
+    }
+
+    /**
+     * @param group the group number, from 0
+     * @return the pattern every answer of the group gives
+     */
+    public int groupPattern(int group) {
+        return groupPatterns[group];
+    }
+
+    /**
+     * @param group the group number, from 0
+     * @return the number of answers in the group
+     */
+    public int groupSize(int group) {
+        return groupSizes[group];
+    }
+
+    /**
+     * @param i the position of an answer in the last split
+     * @return the pattern the answer gives
+     */
+    public int pattern(int i) {
+        return patterns[i];
+    }
+}
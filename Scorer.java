@@ -0,0 +1,235 @@
+/**
+ * Allocation-free scoring engine for Jordle guesses.
+ *
+ * Words are packed into a long with 5 bits per letter ('a' = 1 ... 'z' = 26), the first
+ * letter in the lowest bits, which fits words of up to 12 letters. Because no letter is 0,
+ * a word's length can be read back from its code. Feedback is returned as a base-3 int
+ * where digit i (weight 3^i) is 0 for incorrect, 1 for yellow and 2 for green, so a
+ * 5-letter pattern fits in 0-242 and a 12-letter one in 0-531440.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class Scorer {
+    public static final int WORD_LENGTH = 5;
+    public static final int MIN_LENGTH = 4;
+    public static final int MAX_LENGTH = 12;
+
+    public static final int INCORRECT = 0;
+    public static final int YELLOW = 1;
+    public static final int GREEN = 2;
+
+    private static final int BITS = 5;
+    private static final long LETTER_MASK = 0x1F;
+
+    // Lowest and highest bit of every 5-bit lane, used for SWAR lane matching
+    private static final long LOW_LANES = 0x0084210842108421L;
+    private static final long HIGH_LANES = LOW_LANES << (BITS - 1);
+
+    private static final int[] POW3 = new int[MAX_LENGTH + 1];
+    private static final char[] SYMBOLS = {'i', 'y', 'g'};
+
+    static {
+        POW3[0] = 1;
+        for (int i = 1; i < POW3.length; i++) {
+            POW3[i] = POW3[i - 1] * 3;
+        }
+    }
+
+    private Scorer() {
+    }
+
+    /**
+     * Packs a word into its code. The word is case-insensitive.
+     *
+     * @param word the word to encode
+     * @return the packed code, or -1 if the word is not 1 to 12 ASCII letters
+     */
+    public static long encode(CharSequence word) {
+        if (word == null || word.length() == 0 || word.length() > MAX_LENGTH) {
+            return -1;
+        }
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            // Folding in 0x20 lowercases ASCII letters and leaves everything else out of range
+            int c = word.charAt(i) | 0x20;
+            if (c < 'a' || c > 'z') {
+                return -1;
+            }
+            code |= (long) (c - 'a' + 1) << (BITS * i);
+        }
+        return code;
+    }
+
+    /**
+     * Unpacks a code back into its lowercase word.
+     *
+     * @param code the packed word
+     * @return the word as a String
+     */
+    public static String decode(long code) {
+        char[] letters = new char[length(code)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' - 1 + letter(code, i));
+        }
+        return String.valueOf(letters);
+    }
+
+    /**
+     * Gets the number of letters in a packed word.
+     *
+     * @param code the packed word
+     * @return the word length
+     */
+    public static int length(long code) {
+        return (Long.SIZE - Long.numberOfLeadingZeros(code) + BITS - 1) / BITS;
+    }
+
+    /**
+     * Gets a letter out of a packed word.
+     *
+     * @param code the packed word
+     * @param position the letter position, starting at 0
+     * @return the letter as 1-26
+     */
+    public static int letter(long code, int position) {
+        return (int) ((code >>> (BITS * position)) & LETTER_MASK);
+    }
+
+    /**
+     * Gets the number of distinct feedback patterns for a word length.
+     *
+     * @param length the word length
+     * @return 3 to the power of length
+     */
+    public static int patternCount(int length) {
+        return POW3[length];
+    }
+
+    /**
+     * Gets the pattern of a fully correct guess.
+     *
+     * @param length the word length
+     * @return the all-green pattern
+     */
+    public static int allGreen(int length) {
+        return POW3[length] - 1;
+    }
+
+    /**
+     * Scores a guess against a target of the same length, reading the length from the target.
+     *
+     * @param guess the packed guess
+     * @param target the packed target
+     * @return the base-3 feedback pattern
+     */
+    public static int score(long guess, long target) {
+        return score(guess, target, length(target));
+    }
+
+    /**
+     * Scores a guess against a target. Duplicate letters follow the usual rules: greens are
+     * matched first, then each remaining guess letter consumes the leftmost unmatched copy
+     * in the target.
+     *
+     * @param guess the packed guess
+     * @param target the packed target
+     * @param length the length of both words
+     * @return the base-3 feedback pattern
+     */
+    public static int score(long guess, long target, int length) {
+        int pattern = 0;
+
+        // Green pass, marking matched target lanes as used
+        long diff = guess ^ target;
+        long used = 0;
+        for (int i = 0; i < length; i++) {
+            if (((diff >>> (BITS * i)) & LETTER_MASK) == 0) {
+                pattern += GREEN * POW3[i];
+                used |= 1L << (BITS * i);
+            }
+        }
+        long greens = used;
+
+        // Yellow pass: broadcast the guess letter to every lane and find the first
+        // zero lane of (target ^ letter) that has not been used yet. Lanes past the
+        // end of the target hold 0 and never match a letter.
+        for (int i = 0; i < length; i++) {
+            if ((greens & (1L << (BITS * i))) != 0) {
+                continue;
+            }
+            long x = (target ^ (letter(guess, i) * LOW_LANES)) | used;
+            long zero = (x - LOW_LANES) & ~x & HIGH_LANES;
+            if (zero != 0) {
+                pattern += YELLOW * POW3[i];
+                used |= Long.lowestOneBit(zero) >>> (BITS - 1);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Scores one guess against many targets in a single call, for multi-board games. The
+     * targets sit in one primitive array, so the loop streams through them without touching
+     * any objects and the JIT can inline {@link #score(long, long, int)} into it.
+     *
+     * @param guess the packed guess
+     * @param targets the packed targets, all of the given length
+     * @param length the length of every word
+     * @param patterns receives the base-3 feedback pattern for each target at the same index
+     */
+    public static void scoreAll(long guess, long[] targets, int length, int[] patterns) {
+        for (int k = 0; k < targets.length; k++) {
+            patterns[k] = score(guess, targets[k], length);
+        }
+    }
+
+    /**
+     * Gets one digit out of a feedback pattern.
+     *
+     * @param pattern the base-3 feedback pattern
+     * @param position the letter position, starting at 0
+     * @return INCORRECT, YELLOW or GREEN
+     */
+    public static int digit(int pattern, int position) {
+        return pattern / POW3[position] % 3;
+    }
+
+    /**
+     * Converts a feedback pattern into its 'g', 'y', 'i' String form.
+     *
+     * @param pattern the base-3 feedback pattern
+     * @param length the word length
+     * @return a String of 'g', 'y' and 'i', one per letter
+     */
+    public static String toString(int pattern, int length) {
+        char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = SYMBOLS[pattern % 3];
+            pattern /= 3;
+        }
+        return String.valueOf(result);
+    }
+
+    /**
+     * Parses a 'g', 'y', 'i' String back into a feedback pattern.
+     *
+     * @param result the feedback String
+     * @return the base-3 feedback pattern, or -1 if the String is malformed
+     */
+    public static int parse(String result) {
+        if (result == null || result.length() > MAX_LENGTH) {
+            return -1;
+        }
+        int pattern = 0;
+        for (int i = result.length() - 1; i >= 0; i--) {
+            char c = result.charAt(i);
+            int value = c == 'g' ? GREEN : c == 'y' ? YELLOW : c == 'i' ? INCORRECT : -1;
+            if (value < 0) {
+                return -1;
+            }
+            pattern = pattern * 3 + value;
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,229 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk self-play simulator: plays one game for every answer with a pluggable strategy.
+ *
+ * Games run in parallel across cores, each worker thread reusing its own strategy instance.
+ * One CSV line is streamed out per game as it finishes, and only the guess distribution is
+ * kept in memory.
+ *
+ * Usage: java Simulator [answers file] [entropy|hard|first] [results csv] [word length]
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class Simulator {
+    private final FeedbackMatrix matrix;
+    private final Supplier<Strategy> strategies;
+
+    // Games won in 1..ROWS guesses, with lost games in the last slot
+    private final AtomicLongArray distribution = new AtomicLongArray(GameState.DEFAULT_ROWS + 2);
+
+    /**
+     * Constructor for a Simulator.
+     *
+     * @param matrix the feedback matrix whose answers are played
+     * @param strategies creates a strategy for each worker thread
+     */
+    public Simulator(FeedbackMatrix matrix, Supplier<Strategy> strategies) {
+        this.matrix = matrix;
+        this.strategies = strategies;
+    }
+
+    /**
+     * Plays every answer once, writing one CSV line per game.
+     *
+     * @param out where to write "answer,guesses,won,path" lines
+     */
+    public void run(Writer out) {
+        ThreadLocal<Strategy> local = ThreadLocal.withInitial(strategies);
+        ThreadLocal<StringBuilder> lines = ThreadLocal.withInitial(() -> new StringBuilder(64));
+        try {
+            out.write("answer,guesses,won,path\n");
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        IntStream.range(0, matrix.answerCount()).parallel().forEach(a -> {
+            Strategy strategy = local.get();
+            StringBuilder line = lines.get();
+            long target = matrix.answerCode(a);
+            line.setLength(0);
+            line.append(Scorer.decode(target)).append(',');
+            int pathStart = line.length();
+
+            // Play one game
+            strategy.reset();
+            int guesses = 0;
+            boolean won = false;
+            while (!won && guesses < GameState.DEFAULT_ROWS) {
+                long guess = strategy.nextGuess();
+                if (guess < 0) {
+                    break;
+                }
+                int pattern = Scorer.score(guess, target, matrix.wordLength());
+                strategy.addResult(guess, pattern);
+                guesses++;
+                won = pattern == Scorer.allGreen(matrix.wordLength());
+                line.append(Scorer.decode(guess)).append(' ');
+            }
+            distribution.incrementAndGet(won ? guesses : GameState.DEFAULT_ROWS + 1);
+
+            // Move the path after the counts
+            String path = line.substring(pathStart).trim();
+            line.setLength(pathStart);
+            line.append(guesses).append(',').append(won).append(',').append(path).append('\n');
+            synchronized (out) {
+                try {
+                    out.append(line);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }
+        });
+    }
+
+    /**
+     * Prints the win rate, average guesses over won games and the guess distribution.
+     */
+    public void report() {
+        long games = 0;
+        long wins = 0;
+        long guesses = 0;
+        for (int i = 1; i < distribution.length(); i++) {
+            games += distribution.get(i);
+            if (i <= GameState.DEFAULT_ROWS) {
+                wins += distribution.get(i);
+                guesses += i * distribution.get(i);
+            }
+        }
+        System.out.printf(Locale.ROOT, "Games: %d  Win rate: %.2f%%  Average guesses: %.3f%n",
+            games, 100.0 * wins / Math.max(games, 1), (double) guesses / Math.max(wins, 1));
+        for (int i = 1; i < distribution.length(); i++) {
+            System.out.printf("%5s: %d%n", i <= GameState.DEFAULT_ROWS ? Integer.toString(i) : "lost", distribution.get(i));
+        }
+    }
+
+    /**
+     * Guesses the word with the highest expected information, via {@link Solver}, optionally
+     * keeping to the hard-mode rules.
+     */
+    static class EntropyStrategy implements Strategy {
+        private final Solver solver;
+        private long opening = -1;
+        private boolean first;
+
+        EntropyStrategy(FeedbackMatrix matrix, boolean hardMode, OpeningBook book) {
+            solver = new Solver(matrix);
+            solver.setParallel(false);
+            solver.setHardMode(hardMode);
+            solver.setOpeningBook(book);
+        }
+
+        @Override
+        public void reset() {
+            solver.reset();
+            first = true;
+        }
+
+        @Override
+        public long nextGuess() {
+            // The opening only depends on the word list, so compute it once
+            if (first) {
+                if (opening < 0) {
+                    opening = solver.bestGuessCode();
+                }
+                return opening;
+            }
+            return solver.bestGuessCode();
+        }
+
+        @Override
+        public void addResult(long guessCode, int pattern) {
+            first = false;
+            solver.addResult(guessCode, pattern);
+        }
+    }
+
+    /**
+     * Guesses the first answer still consistent with every result.
+     */
+    static class FirstCandidateStrategy implements Strategy {
+        private final FeedbackMatrix matrix;
+        private final CandidateFilter filter;
+
+        FirstCandidateStrategy(FeedbackMatrix matrix) {
+            this.matrix = matrix;
+            long[] codes = new long[matrix.answerCount()];
+            for (int a = 0; a < codes.length; a++) {
+                codes[a] = matrix.answerCode(a);
+            }
+            filter = new CandidateFilter(matrix.wordLength(), codes);
+        }
+
+        @Override
+        public void reset() {
+            filter.reset();
+        }
+
+        @Override
+        public long nextGuess() {
+            int answer = filter.next(0);
+            return answer < 0 ? -1 : matrix.answerCode(answer);
+        }
+
+        @Override
+        public void addResult(long guessCode, int pattern) {
+            filter.apply(guessCode, pattern);
+        }
+    }
+
+    /**
+     * Runs a simulation.
+     *
+     * @param args optionally the answers file, the strategy name, the CSV output file and
+     *             the word length
+     * @throws IOException if the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Dictionary answers = args.length > 0 ? Dictionary.load(Paths.get(args[0])) : Dictionary.get();
+        String name = args.length > 1 ? args[1] : "entropy";
+        String csv = args.length > 2 ? args[2] : "simulation.csv";
+        int length = args.length > 3 ? Integer.parseInt(args[3]) : Scorer.WORD_LENGTH;
+
+        FeedbackMatrix matrix = FeedbackMatrix.load(length, Dictionary.get().codes(length), answers.codes(length),
+            Paths.get("."));
+        OpeningBook book = OpeningBook.load(matrix);
+        Supplier<Strategy> strategies;
+        if (name.equals("entropy")) {
+            strategies = () -> new EntropyStrategy(matrix, false, book);
+        } else if (name.equals("hard")) {
+            strategies = () -> new EntropyStrategy(matrix, true, null);
+        } else if (name.equals("first")) {
+            strategies = () -> new FirstCandidateStrategy(matrix);
+        } else {
+            System.out.println("Unknown strategy: " + name + " (use entropy, hard or first)");
+            return;
+        }
+
+        Simulator simulator = new Simulator(matrix, strategies);
+        long start = System.nanoTime();
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(csv), StandardCharsets.UTF_8)) {
+            simulator.run(out);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        simulator.report();
+        System.out.println("Finished in " + millis + " ms, results in " + csv);
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Entropy-maximizing hint engine for Jordle.
+ *
+ * The solver tracks which answers are still consistent with the guesses made so far and
+ * ranks every guess in the feedback matrix by the expected information (in bits) its
+ * feedback would reveal about the remaining answers. In hard mode only guesses consistent
+ * with every result, as decided by a {@link HardModeValidator}, are ranked. Given an
+ * {@link OpeningBook}, the solver follows it while the game stays on the book and only
+ * searches once it leaves.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class Solver {
+    // Small bonus so a guess that could itself win is preferred among equal-entropy guesses
+    private static final double CANDIDATE_BONUS = 1e-6;
+
+    private final FeedbackMatrix matrix;
+    private final CandidateFilter filter;
+    private final HardModeValidator constraints;
+    private final int[] candidates;
+    private int candidateCount;
+    private boolean parallel = true;
+    private boolean hardMode = false;
+    private OpeningBook book;
+    private int bookNode;
+
+    /**
+     * Constructor for a Solver over the given feedback matrix.
+     *
+     * @param matrix the feedback matrix holding the guesses and answers
+     */
+    public Solver(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        candidates = new int[matrix.answerCount()];
+        long[] answerCodes = new long[matrix.answerCount()];
+        for (int a = 0; a < answerCodes.length; a++) {
+            answerCodes[a] = matrix.answerCode(a);
+        }
+        filter = new CandidateFilter(matrix.wordLength(), answerCodes);
+        constraints = new HardModeValidator(matrix.wordLength());
+        reset();
+    }
+
+    /**
+     * Forgets every guess so all answers are candidates again.
+     */
+    public void reset() {
+        filter.reset();
+        constraints.reset();
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        candidateCount = candidates.length;
+        bookNode = OpeningBook.ROOT;
+    }
+
+    /**
+     * Narrows the candidates down to the answers consistent with a guess and its result.
+     *
+     * @param guess the guessed word
+     * @param result the 'g', 'y', 'i' String returned by {@link Backend#check(String)}
+     * @throws IllegalArgumentException if the guess or result is malformed or of the wrong length
+     */
+    public void addResult(String guess, String result) {
+        if (result == null || result.length() != matrix.wordLength()) {
+            throw new IllegalArgumentException("Result " + result + " is not " + matrix.wordLength()
+                + " letters long");
+        }
+        addResult(Scorer.encode(guess), Scorer.parse(result));
+    }
+
+    /**
+     * Narrows the candidates down to the answers consistent with a guess and its result.
+     *
+     * @param guessCode the packed guess
+     * @param pattern the base-3 feedback pattern
+     * @throws IllegalArgumentException if the guess is not a packed word of the solver's
+     *     length or the pattern is out of range
+     */
+    public void addResult(long guessCode, int pattern) {
+        int length = matrix.wordLength();
+        if (guessCode < 0 || Scorer.length(guessCode) != length) {
+            throw new IllegalArgumentException("Guess is not a " + length + " letter word");
+        } else if (pattern < 0 || pattern > Scorer.allGreen(length)) {
+            throw new IllegalArgumentException("Invalid feedback pattern " + pattern);
+        }
+        filter.apply(guessCode, pattern);
+        constraints.addResult(guessCode, pattern);
+        if (book != null) {
+            bookNode = book.next(bookNode, guessCode, pattern);
+        }
+        candidateCount = 0;
+        for (int a = filter.next(0); a >= 0; a = filter.next(a + 1)) {
+            candidates[candidateCount++] = a;
+        }
+    }
+
+    /**
+     * @return the number of answers still consistent with every result
+     */
+    public int remaining() {
+        return candidateCount;
+    }
+
+    /**
+     * Computes the expected information of a guess over the remaining candidates.
+     *
+     * @param guess the guess index in the feedback matrix
+     * @return the entropy of the guess's feedback partition in bits
+     */
+    public double entropy(int guess) {
+        PatternSplit split = PatternSplit.local(matrix.wordLength());
+        split.split(matrix, guess, candidates, candidateCount);
+        double sum = 0;
+        for (int group = 0; group < split.groups(); group++) {
+            int size = split.groupSize(group);
+            sum += size * Math.log(size);
+        }
+        double total = candidateCount;
+        return (Math.log(total) - sum / total) / Math.log(2);
+    }
+
+    /**
+     * Ranks every guess by entropy and returns the best ones. While the game is on the
+     * opening book, the book's guess is returned alone instead.
+     *
+     * @param k the number of guesses to return
+     * @return up to k guesses, best first
+     */
+    public List<String> bestGuesses(int k) {
+        List<String> best = new ArrayList<>();
+        if (candidateCount == 0 || k <= 0) {
+            return best;
+        }
+
+        // Only one answer left, so guess it
+        if (candidateCount == 1) {
+            best.add(Scorer.decode(matrix.answerCode(candidates[0])));
+            return best;
+        }
+
+        long booked = bookGuess();
+        if (booked >= 0) {
+            best.add(Scorer.decode(booked));
+            return best;
+        }
+
+        for (int guess : rank(k)) {
+            best.add(Scorer.decode(matrix.guessCode(guess)));
+        }
+
+        // In hard mode no guess may be legal when the answers are not all guessable words
+        if (best.isEmpty()) {
+            best.add(Scorer.decode(matrix.answerCode(candidates[0])));
+        }
+        return best;
+    }
+
+    /**
+     * Allocation-light version of {@link #bestGuesses(int)} for simulations.
+     *
+     * @return the best guess packed with {@link Scorer#encode(CharSequence)}, or -1 if no
+     *         answer is consistent with the results so far
+     */
+    public long bestGuessCode() {
+        if (candidateCount == 0) {
+            return -1;
+        }
+        if (candidateCount == 1) {
+            return matrix.answerCode(candidates[0]);
+        }
+        long booked = bookGuess();
+        if (booked >= 0) {
+            return booked;
+        }
+        int[] best = rank(1);
+        return best.length == 0 ? matrix.answerCode(candidates[0]) : matrix.guessCode(best[0]);
+    }
+
+    /**
+     * Scores every guess, on the fork-join pool when parallel, and selects the best ones.
+     *
+     * @param k the number of guesses to select
+     * @return the guess indices with the k highest scores, best first
+     */
+    private int[] rank(int k) {
+        // The validator is single-threaded, so work out the legal guesses before fanning out
+        boolean[] legal = hardMode ? legalGuesses() : null;
+        double[] scores = new double[matrix.guessCount()];
+        IntStream range = IntStream.range(0, scores.length);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(g -> {
+            scores[g] = legal != null && !legal[g] ? Double.NEGATIVE_INFINITY
+                : entropy(g) + (couldWin(g) ? CANDIDATE_BONUS : 0);
+        });
+
+        // Partial selection of the k highest scores, leaving out illegal guesses
+        int[] top = new int[Math.min(k, scores.length)];
+        int size = 0;
+        for (int g = 0; g < scores.length; g++) {
+            if (scores[g] == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            int pos = size < top.length ? size++ : top.length;
+            while (pos > 0 && scores[top[pos - 1]] < scores[g]) {
+                if (pos < top.length) {
+                    top[pos] = top[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < top.length) {
+                top[pos] = g;
+            }
+        }
+        return size == top.length ? top : Arrays.copyOf(top, size);
+    }
+
+    /**
+     * Sets whether guesses are scored in parallel. Callers that already run one solver per
+     * core, like the {@link Simulator}, should turn this off.
+     *
+     * @param parallel true to score guesses on the fork-join pool
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Checks every guess against the hard-mode rules.
+     *
+     * @return whether each guess in the feedback matrix is consistent with every result
+     */
+    private boolean[] legalGuesses() {
+        boolean[] legal = new boolean[matrix.guessCount()];
+        for (int g = 0; g < legal.length; g++) {
+            legal[g] = constraints.isConsistent(matrix.guessCode(g));
+        }
+        return legal;
+    }
+
+    /**
+     * Sets whether hints must be legal hard-mode guesses, consistent with every result so far.
+     *
+     * @param hardMode true to only rank guesses the hard-mode rules allow
+     */
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
+    }
+
+    /**
+     * Sets the opening book to follow before searching. The book must be built from the same
+     * feedback matrix, is followed from the start of the current game, and is not used in
+     * hard mode, where its guesses may not be legal.
+     *
+     * @param book the opening book, or null to always search
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+        bookNode = OpeningBook.ROOT;
+    }
+
+    /**
+     * Looks up the book's guess for the results so far.
+     *
+     * @return the packed guess, or -1 if there is no book or the game has left it
+     */
+    private long bookGuess() {
+        return book == null || hardMode ? -1 : book.guess(bookNode);
+    }
+
+    /**
+     * Checks whether a guess is one of the remaining candidate answers.
+     */
+    private boolean couldWin(int guess) {
+        int answer = matrix.answerOfGuess(guess);
+        return answer >= 0 && filter.contains(answer);
+    }
+}
@@ -0,0 +1,392 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Embedded, persistent player statistics keyed by username.
+ *
+ * Every player has one fixed-size record in a memory-mapped file, so finding a player
+ * through the in-memory index and updating their record at the end of a game are O(1) and
+ * write straight into the page cache. The file is mapped in segments of 65536 records, so
+ * it can grow past the 2 GB limit of a single mapping as players are added. The last
+ * segment is only mapped, and the file only grown, as far as the players need, doubling
+ * from 64 records at a time. The file is locked while open, so two games never write the
+ * same records.
+ *
+ * Record layout, little-endian, 256 bytes:
+ *
+ *   name            32 bytes of UTF-8, zero padded
+ *   i32 played, wins, current streak, max streak
+ *   i32 x 12        wins in 1 ... 11 guesses, then 12 or more
+ *   i32             next history slot
+ *   i64 x 16        history ring: packed target in the low 60 bits, guesses (0 = lost)
+ *                   in the top 4
+ *   i64             last played, epoch milliseconds
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class StatsStore implements Closeable {
+    public static final int MAX_NAME_BYTES = 32;
+    public static final int DISTRIBUTION_SIZE = 12;
+    public static final int HISTORY_SIZE = 16;
+
+    private static final int MAGIC = 0x534A5453; // "STJS" in little-endian
+    private static final int VERSION = 1;
+    private static final int RECORD_BYTES = 256;
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_RECORDS = 1 << SEGMENT_SHIFT;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_BYTES;
+    private static final int GROWTH_RECORDS = 64;
+
+    // Record 0 holds the file header, so players start at record 1
+    private static final int HEADER_RECORD = 0;
+
+    private static final int PLAYED = MAX_NAME_BYTES;
+    private static final int WINS = PLAYED + 4;
+    private static final int STREAK = WINS + 4;
+    private static final int MAX_STREAK = STREAK + 4;
+    private static final int DISTRIBUTION = MAX_STREAK + 4;
+    private static final int HISTORY_NEXT = DISTRIBUTION + 4 * DISTRIBUTION_SIZE;
+    private static final int HISTORY = HISTORY_NEXT + 4;
+    private static final int LAST_PLAYED = HISTORY + 8 * HISTORY_SIZE;
+
+    private static final long CODE_MASK = (1L << 60) - 1;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+    private int recordCount;
+
+    // Records covered by the mappings, a whole number of segments but for the last
+    private int capacity;
+
+    /**
+     * Opens a stats file, creating it if needed, and indexes every player in it.
+     *
+     * @param file the stats file
+     * @throws IOException if the file cannot be opened, is in use by another game or is not
+     *     a stats file
+     */
+    public StatsStore(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException ofle) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException(file + " is in use by another game");
+            }
+
+            boolean created = channel.size() == 0;
+            long existing = (channel.size() + RECORD_BYTES - 1) / RECORD_BYTES;
+            if (existing > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a Jordle stats file");
+            }
+            ensureCapacity(Math.max(1, (int) existing));
+
+            MappedByteBuffer header = segments.get(0);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(8, 1);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || header.getInt(8) < 1 || header.getInt(8) > capacity) {
+                throw new IOException(file + " is not a Jordle stats file");
+            }
+            recordCount = header.getInt(8);
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+
+        byte[] name = new byte[MAX_NAME_BYTES];
+        for (int record = HEADER_RECORD + 1; record < recordCount; record++) {
+            index.put(readName(record, name), record);
+        }
+    }
+
+    /**
+     * Maps at least a number of records, growing the file to match. The last segment is
+     * mapped again at twice its size, or a new one is started, until the records fit.
+     */
+    private void ensureCapacity(int records) throws IOException {
+        while (capacity < records) {
+            int segment = capacity >>> SEGMENT_SHIFT;
+            int base = segment << SEGMENT_SHIFT;
+            int mapped = capacity - base;
+            int size = Math.min(SEGMENT_RECORDS, Math.max(records - base, Math.max(GROWTH_RECORDS, 2 * mapped)));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+                segment * SEGMENT_BYTES, (long) size * RECORD_BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (segment < segments.size()) {
+                segments.set(segment, buffer);
+            } else {
+                segments.add(buffer);
+            }
+            capacity = base + size;
+        }
+    }
+
+    private MappedByteBuffer segment(int record) {
+        return segments.get(record >>> SEGMENT_SHIFT);
+    }
+
+    private static int offset(int record, int field) {
+        return (record & (SEGMENT_RECORDS - 1)) * RECORD_BYTES + field;
+    }
+
+    private String readName(int record, byte[] name) {
+        MappedByteBuffer segment = segment(record);
+        int length = 0;
+        while (length < MAX_NAME_BYTES && segment.get(offset(record, length)) != 0) {
+            name[length] = segment.get(offset(record, length));
+            length++;
+        }
+        return new String(name, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Normalizes a username into its key: trimmed and lowercase.
+     *
+     * @param username the username
+     * @return the key
+     * @throws IllegalArgumentException if the username is blank or too long
+     */
+    public static String key(String username) {
+        String key = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || key.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Username must be 1 to " + MAX_NAME_BYTES + " bytes long");
+        }
+        return key;
+    }
+
+    /**
+     * Finds a player's record, adding a new one if needed.
+     */
+    private int recordOf(String key) throws IOException {
+        Integer record = index.get(key);
+        if (record != null) {
+            return record;
+        }
+
+        int created = recordCount;
+        ensureCapacity(created + 1);
+        byte[] name = key.getBytes(StandardCharsets.UTF_8);
+        MappedByteBuffer segment = segment(created);
+        for (int i = 0; i < name.length; i++) {
+            segment.put(offset(created, i), name[i]);
+        }
+        recordCount++;
+        segments.get(0).putInt(8, recordCount);
+        index.put(key, created);
+        return created;
+    }
+
+    /**
+     * Records a finished game for a player.
+     *
+     * @param username the player
+     * @param targetCode the target packed with {@link Scorer#encode(CharSequence)}
+     * @param guesses the number of guesses made
+     * @param won true if the target was guessed
+     * @throws IOException if the file cannot grow
+     * @throws IllegalArgumentException if the username is blank or too long
+     */
+    public synchronized void recordGame(String username, long targetCode, int guesses, boolean won)
+        throws IOException {
+        int record = recordOf(key(username));
+        MappedByteBuffer segment = segment(record);
+
+        add(segment, offset(record, PLAYED), 1);
+        if (won) {
+            add(segment, offset(record, WINS), 1);
+            int streak = add(segment, offset(record, STREAK), 1);
+            if (streak > segment.getInt(offset(record, MAX_STREAK))) {
+                segment.putInt(offset(record, MAX_STREAK), streak);
+            }
+            int slot = Math.min(Math.max(guesses, 1), DISTRIBUTION_SIZE) - 1;
+            add(segment, offset(record, DISTRIBUTION + 4 * slot), 1);
+        } else {
+            segment.putInt(offset(record, STREAK), 0);
+        }
+
+        int next = segment.getInt(offset(record, HISTORY_NEXT));
+        long entry = (targetCode & CODE_MASK) | (long) (won ? Math.min(guesses, 15) : 0) << 60;
+        segment.putLong(offset(record, HISTORY + 8 * next), entry);
+        segment.putInt(offset(record, HISTORY_NEXT), (next + 1) % HISTORY_SIZE);
+        segment.putLong(offset(record, LAST_PLAYED), System.currentTimeMillis());
+    }
+
+    private static int add(MappedByteBuffer segment, int offset, int amount) {
+        int value = segment.getInt(offset) + amount;
+        segment.putInt(offset, value);
+        return value;
+    }
+
+    /**
+     * Gets a copy of a player's stats.
+     *
+     * @param username the player
+     * @return the stats, all zero for a player with no games
+     * @throws IllegalArgumentException if the username is blank or too long
+     */
+    public synchronized Stats get(String username) {
+        Integer record = index.get(key(username));
+        Stats stats = new Stats();
+        if (record == null) {
+            return stats;
+        }
+        MappedByteBuffer segment = segment(record);
+        stats.played = segment.getInt(offset(record, PLAYED));
+        stats.wins = segment.getInt(offset(record, WINS));
+        stats.streak = segment.getInt(offset(record, STREAK));
+        stats.maxStreak = segment.getInt(offset(record, MAX_STREAK));
+        for (int i = 0; i < DISTRIBUTION_SIZE; i++) {
+            stats.distribution[i] = segment.getInt(offset(record, DISTRIBUTION + 4 * i));
+        }
+
+        // Newest game first
+        int next = segment.getInt(offset(record, HISTORY_NEXT));
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            long entry = segment.getLong(offset(record, HISTORY + 8 * ((next - 1 - i + HISTORY_SIZE) % HISTORY_SIZE)));
+            if (entry != 0) {
+                stats.history[stats.historySize++] = entry;
+            }
+        }
+        stats.lastPlayed = segment.getLong(offset(record, LAST_PLAYED));
+        return stats;
+    }
+
+    /**
+     * @return the number of players in the store
+     */
+    public synchronized int size() {
+        return recordCount - 1;
+    }
+
+    /**
+     * Forces every change to the disk.
+     */
+    public synchronized void sync() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Syncs and closes the store, releasing its lock. The mappings stay valid until they are
+     * garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    /**
+     * A snapshot of one player's stats.
+     */
+    public static class Stats {
+        private int played;
+        private int wins;
+        private int streak;
+        private int maxStreak;
+        private final int[] distribution = new int[DISTRIBUTION_SIZE];
+        private final long[] history = new long[HISTORY_SIZE];
+        private int historySize;
+        private long lastPlayed;
+
+        /**
+         * @return the number of games played
+         */
+        public int getPlayed() {
+            return played;
+        }
+
+        /**
+         * @return the number of games won
+         */
+        public int getWins() {
+            return wins;
+        }
+
+        /**
+         * @return the number of games won in a row up to the last one
+         */
+        public int getStreak() {
+            return streak;
+        }
+
+        /**
+         * @return the longest winning streak
+         */
+        public int getMaxStreak() {
+            return maxStreak;
+        }
+
+        /**
+         * @param guesses the number of guesses, from 1; the last slot counts every longer win
+         * @return the number of games won in that many guesses
+         */
+        public int getDistribution(int guesses) {
+            return distribution[Math.min(guesses, DISTRIBUTION_SIZE) - 1];
+        }
+
+        /**
+         * @return the number of games in the history
+         */
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        /**
+         * @param i the game, 0 for the most recent
+         * @return the target of the game as a lowercase String
+         */
+        public String getHistoryWord(int i) {
+            return Scorer.decode(history[i] & CODE_MASK);
+        }
+
+        /**
+         * @param i the game, 0 for the most recent
+         * @return the guesses taken to win the game, or 0 if it was lost
+         */
+        public int getHistoryGuesses(int i) {
+            return (int) (history[i] >>> 60);
+        }
+
+        /**
+         * @return when the last game was played, in epoch milliseconds, or 0 if never
+         */
+        public long getLastPlayed() {
+            return lastPlayed;
+        }
+
+        /**
+         * @return a one line summary for display
+         */
+        public String summary() {
+            int winRate = played == 0 ? 0 : Math.round(100f * wins / played);
+            return "Played " + played + " | Win " + winRate + "% | Streak " + streak + " | Best " + maxStreak;
+        }
+    }
+}
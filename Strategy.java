@@ -0,0 +1,30 @@
+/**
+ * A guessing strategy that can play Jordle on its own, used by the {@link Simulator}.
+ *
+ * Strategies keep per-game state and are reused across games, so one instance is only ever
+ * used by one thread at a time.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public interface Strategy {
+    /**
+     * Forgets the previous game.
+     */
+    void reset();
+
+    /**
+     * Chooses the next guess.
+     *
+     * @return the guess packed with {@link Scorer#encode(CharSequence)}, or -1 to give up
+     */
+    long nextGuess();
+
+    /**
+     * Learns from the feedback to a guess.
+     *
+     * @param guessCode the packed guess
+     * @param pattern the base-3 feedback pattern
+     */
+    void addResult(long guessCode, int pattern);
+}
@@ -0,0 +1,171 @@
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * One cell of a Jordle grid: a colored square with a letter on it.
+ *
+ * The square and letter are kept in fields, so repainting a cell does not look its children
+ * up by index. Each Tile also carries the state of its one running animation, which a
+ * {@link TileAnimator} advances on every pulse; starting an animation only sets a few
+ * fields, so nothing is allocated per guess.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class Tile extends StackPane {
+    // Animations, at most one at a time per tile
+    static final int NONE = 0;
+    static final int POP = 1;
+    static final int FLIP = 2;
+    static final int SHAKE = 3;
+
+    private static final long POP_NANOS = 100_000_000L;
+    private static final long FLIP_NANOS = 300_000_000L;
+    private static final long SHAKE_NANOS = 300_000_000L;
+    private static final double POP_SCALE = 0.1;
+    private static final double SHAKE_DISTANCE = 6;
+    private static final int SHAKE_SWINGS = 3;
+
+    private final Rectangle square;
+    private final Label label;
+    private char letter;
+
+    private int animation = NONE;
+    private long start;
+
+    // Color a flip shows once the tile has turned edge-on
+    private Paint revealedFill;
+
+    /**
+     * Constructor for a Tile.
+     *
+     * @param size the width and height of the square
+     * @param fontStyle the inline style of the letter, or null for the style sheet's
+     */
+    public Tile(int size, String fontStyle) {
+        getStyleClass().add("jordle-grid-block");
+        square = new Rectangle(size, size);
+        square.setFill(Color.WHITE);
+        square.setStroke(Color.BLACK);
+        label = new Label();
+        if (fontStyle != null) {
+            label.setStyle(fontStyle);
+        }
+        getChildren().addAll(square, label);
+    }
+
+    /**
+     * Shows a letter on the tile.
+     *
+     * @param c the lowercase letter, or 0 for none
+     * @return true if the tile was empty and now has a letter
+     */
+    public boolean setLetter(char c) {
+        if (c == letter) {
+            return false;
+        }
+        boolean typed = letter == 0;
+        letter = c;
+        label.setText(c == 0 ? "" : String.valueOf(c));
+        return typed;
+    }
+
+    /**
+     * Colors the tile. During a flip the color waits until the tile has turned edge-on.
+     *
+     * @param fill the color
+     */
+    public void setFill(Paint fill) {
+        if (animation == FLIP && revealedFill != null) {
+            revealedFill = fill;
+        } else {
+            square.setFill(fill);
+        }
+    }
+
+    /**
+     * Starts an animation, cutting short the one running.
+     *
+     * @param kind POP, FLIP or SHAKE
+     * @param startNanos the pulse time to start at, later than now to stagger tiles
+     */
+    void animate(int kind, long startNanos) {
+        finish();
+        animation = kind;
+        start = startNanos;
+        if (kind == FLIP) {
+            // The tile shows its old color until it turns edge-on
+            revealedFill = square.getFill();
+            square.setFill(Color.WHITE);
+        }
+    }
+
+    /**
+     * Advances the animation to a pulse.
+     *
+     * @param now the pulse time in nanoseconds
+     * @return true while the animation is still running
+     */
+    boolean step(long now) {
+        long elapsed = now - start;
+        if (elapsed < 0) {
+            return true;
+        }
+        switch (animation) {
+            case POP:
+                if (elapsed >= POP_NANOS) {
+                    break;
+                }
+                double scale = 1 + POP_SCALE * Math.sin(Math.PI * elapsed / POP_NANOS);
+                setScaleX(scale);
+                setScaleY(scale);
+                return true;
+            case FLIP:
+                if (elapsed >= FLIP_NANOS) {
+                    break;
+                }
+                double progress = (double) elapsed / FLIP_NANOS;
+                if (progress >= 0.5 && revealedFill != null) {
+                    square.setFill(revealedFill);
+                    revealedFill = null;
+                }
+                setScaleY(Math.abs(1 - 2 * progress));
+                return true;
+            case SHAKE:
+                if (elapsed >= SHAKE_NANOS) {
+                    break;
+                }
+                double swing = (double) elapsed / SHAKE_NANOS;
+                setTranslateX(SHAKE_DISTANCE * (1 - swing) * Math.sin(2 * Math.PI * SHAKE_SWINGS * swing));
+                return true;
+            default:
+                break;
+        }
+        finish();
+        return false;
+    }
+
+    /**
+     * Jumps the running animation to its end.
+     */
+    void finish() {
+        if (revealedFill != null) {
+            square.setFill(revealedFill);
+            revealedFill = null;
+        }
+        setScaleX(1);
+        setScaleY(1);
+        setTranslateX(0);
+        animation = NONE;
+    }
+
+    /**
+     * @return true if an animation is running or waiting to start
+     */
+    boolean isAnimating() {
+        return animation != NONE;
+    }
+}
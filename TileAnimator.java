@@ -0,0 +1,121 @@
+import javafx.animation.AnimationTimer;
+
+/**
+ * Drives every {@link Tile} animation from one shared pulse.
+ *
+ * Instead of a new Timeline with its KeyFrames and KeyValues per cell per guess, tiles are
+ * put in a list of active tiles and one AnimationTimer advances them all on each frame.
+ * The list is sized for the whole grid up front, and the timer stops itself once nothing
+ * is moving. Staggered reveals are just later start times on the same pulse. With
+ * animations disabled every request ends at once, which suits slow or kiosk machines.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class TileAnimator extends AnimationTimer {
+    private static final long STAGGER_NANOS = 100_000_000L;
+
+    private final Tile[] active;
+    private int activeCount;
+    private boolean running;
+    private boolean enabled = true;
+
+    /**
+     * Constructor for a TileAnimator.
+     *
+     * @param capacity the number of tiles in the grids, the most that can move at once
+     */
+    public TileAnimator(int capacity) {
+        active = new Tile[capacity];
+    }
+
+    /**
+     * Turns animations on or off. Turning them off finishes the running ones.
+     *
+     * @param enabled true to animate
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            finishAll();
+        }
+    }
+
+    /**
+     * Pops a tile that has just been typed in.
+     *
+     * @param tile the tile
+     */
+    public void pop(Tile tile) {
+        start(tile, Tile.POP, 0);
+    }
+
+    /**
+     * Flips a tile over to show its color, after the tiles before it in the row.
+     *
+     * @param tile the tile
+     * @param order the tile's place in the reveal, 0 for the first
+     */
+    public void flip(Tile tile, int order) {
+        start(tile, Tile.FLIP, order * STAGGER_NANOS);
+    }
+
+    /**
+     * Shakes a tile of a rejected guess.
+     *
+     * @param tile the tile
+     */
+    public void shake(Tile tile) {
+        start(tile, Tile.SHAKE, 0);
+    }
+
+    private void start(Tile tile, int kind, long delay) {
+        if (!enabled) {
+            return;
+        }
+        long startTime = Metrics.now();
+        if (!tile.isAnimating()) {
+            active[activeCount++] = tile;
+        }
+        tile.animate(kind, System.nanoTime() + delay);
+        if (!running) {
+            running = true;
+            start();
+        }
+        Metrics.ANIMATION_START.recordSince(startTime);
+    }
+
+    /**
+     * Advances every active tile, dropping the finished ones.
+     *
+     * @param now the pulse time in nanoseconds
+     */
+    @Override
+    public void handle(long now) {
+        for (int i = activeCount - 1; i >= 0; i--) {
+            if (!active[i].step(now)) {
+                active[i] = active[--activeCount];
+                active[activeCount] = null;
+            }
+        }
+        if (activeCount == 0) {
+            running = false;
+            stop();
+        }
+    }
+
+    /**
+     * Jumps every running animation to its end.
+     */
+    public void finishAll() {
+        for (int i = 0; i < activeCount; i++) {
+            active[i].finish();
+            active[i] = null;
+        }
+        activeCount = 0;
+        if (running) {
+            running = false;
+            stop();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+#!/bin/sh
+# Startup-optimized launcher for Jordle.
+#
+# Packs the classes into build/cds/jordle.jar, records an AppCDS archive of every class a
+# start-up loads from a training run (Jordle --train quits as soon as it is playable), and
+# then launches against the archive, so those classes are mapped in instead of being
+# parsed and verified again. Run "./jordle.sh train" after changing the code to rebuild
+# the jar and the archive. Its files are kept in build/cds, apart from Gradle's output, and
+# are rebuilt when "gradle clean" removes them. Needs JDK 13 or later for
+# -XX:ArchiveClassesAtExit.
+#
+# Usage: JAVAFX_LIB=/path/to/javafx-sdk/lib ./jordle.sh [train] [game arguments]
+set -e
+cd "$(dirname "$0")"
+: "${JAVAFX_LIB:?Set JAVAFX_LIB to the lib directory of the JavaFX SDK}"
+FX="--module-path $JAVAFX_LIB --add-modules javafx.controls"
+OUT=build/cds
+JAR=$OUT/jordle.jar
+ARCHIVE=$OUT/jordle.jsa
+
+if [ "$1" = "train" ] || [ ! -f "$JAR" ]; then
+    [ "$1" = "train" ] && shift
+    # AppCDS only archives classes from jar files, not from class directories
+    rm -rf "$OUT/classes"
+    mkdir -p "$OUT/classes"
+    javac $FX -d "$OUT/classes" *.java
+    jar cf "$JAR" -C "$OUT/classes" . style.css jordleImage.jpg
+    rm -f "$ARCHIVE"
+fi
+
+if [ ! -f "$ARCHIVE" ]; then
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" $FX -cp "$JAR" Jordle --train
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" $FX -cp "$JAR" Jordle "$@"
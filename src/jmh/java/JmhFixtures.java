@@ -0,0 +1,192 @@
+import java.util.concurrent.ThreadLocalRandom;
+import jordle.jmh.Fixtures;
+
+/**
+ * The engine's side of the JMH benchmarks in jordle.jmh: the fixtures of
+ * {@link Fixtures}, which the benchmarks create by name because they cannot name the
+ * default package.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class JmhFixtures {
+    private JmhFixtures() {
+    }
+
+    /**
+     * Backends, an Adversary, a private histogram and a GameState over words.txt.
+     */
+    public static final class Scoring implements Fixtures.Scoring {
+        private final Backend backend = new Backend();
+        private final String word = Dictionary.get().word(0);
+        private final long geese = Scorer.encode("geese");
+        private final MultiBackend boards = new MultiBackend(Scorer.WORD_LENGTH, 8);
+        private final Adversary adversary = new Adversary(Scorer.WORD_LENGTH);
+        // Not Metrics.CHECK, so the benchmark leaves the live metrics alone
+        private final Metrics.Histogram histogram = new Metrics.Histogram("bench");
+        private final GameState state = new GameState();
+
+        @Override
+        public long encode(String text) {
+            return Scorer.encode(text);
+        }
+
+        @Override
+        public int score(long guessCode, long targetCode) {
+            return Scorer.score(guessCode, targetCode);
+        }
+
+        @Override
+        public int check() {
+            try {
+                return backend.check(word).length();
+            } catch (InvalidGuessException ige) {
+                throw new IllegalStateException(ige);
+            }
+        }
+
+        @Override
+        public int checkPattern() {
+            return backend.checkPattern(geese);
+        }
+
+        @Override
+        public int checkBoards() {
+            return boards.check(geese)[7];
+        }
+
+        @Override
+        public int respond() {
+            adversary.reset();
+            return adversary.respond(geese);
+        }
+
+        @Override
+        public long record() {
+            histogram.record(geese & 0xFFFF);
+            return histogram.max();
+        }
+
+        @Override
+        public int move() {
+            if (state.isOver()) {
+                state.reset();
+            }
+            for (int i = 0; i < state.getCols(); i++) {
+                state.type('e');
+            }
+            return state.submit(backend);
+        }
+    }
+
+    /**
+     * A Backend and the words of words.txt.
+     */
+    public static final class Words implements Fixtures.Words {
+        private final Backend backend = new Backend();
+        private final long known = Dictionary.get().code(Dictionary.get().size() - 1);
+        private final long unknown = Scorer.encode("zzzzz");
+
+        @Override
+        public int newBackend() {
+            return new Backend().getTarget().length();
+        }
+
+        @Override
+        public int reset() {
+            backend.reset();
+            return backend.getTarget().length();
+        }
+
+        @Override
+        public int load() {
+            return Dictionary.load().size();
+        }
+
+        @Override
+        public boolean isAllowedHit() {
+            return Dictionary.get().isAllowed(known);
+        }
+
+        @Override
+        public boolean isAllowedMiss() {
+            return Dictionary.get().isAllowed(unknown);
+        }
+    }
+
+    /**
+     * 50000 five letter sessions, as many as a GameServer is expected to hold, shared by
+     * every benchmark thread.
+     */
+    public static final class Sessions implements Fixtures.Sessions {
+        private static final int SESSIONS = 50_000;
+
+        private final GameSession[] sessions = new GameSession[SESSIONS];
+        private final String[] words;
+
+        /**
+         * Starts every session.
+         */
+        public Sessions() {
+            for (int i = 0; i < SESSIONS; i++) {
+                sessions[i] = new GameSession(i);
+            }
+            long[] codes = Dictionary.get().codes(Scorer.WORD_LENGTH);
+            words = new String[codes.length];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = Scorer.decode(codes[i]);
+            }
+        }
+
+        @Override
+        public int guess() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            GameSession session = sessions[random.nextInt(SESSIONS)];
+            try {
+                return session.guess(words[random.nextInt(words.length)]).length();
+            } catch (IllegalStateException ise) {
+                // Over, so start the next game as a player would
+                session.reset();
+                return 0;
+            } catch (InvalidGuessException ige) {
+                throw new IllegalStateException(ige);
+            }
+        }
+    }
+
+    /**
+     * A Solver, its feedback matrix and a fully built opening book over words.txt.
+     */
+    public static final class Solving implements Fixtures.Solving {
+        private final Backend backend = new Backend();
+        private final long geese = Scorer.encode("geese");
+        private final FeedbackMatrix matrix = FeedbackMatrix.load();
+        private final Solver solver = new Solver(matrix);
+        private final OpeningBook book = OpeningBook.build(matrix, Integer.MAX_VALUE);
+        private final long opening = book.guess(OpeningBook.ROOT);
+        private final int result = Scorer.score(opening, matrix.answerCode(0), matrix.wordLength());
+
+        @Override
+        public int pattern() {
+            return matrix.pattern(0, matrix.answerCount() - 1);
+        }
+
+        @Override
+        public int addResult() {
+            solver.reset();
+            solver.addResult(geese, backend.checkPattern(geese));
+            return solver.remaining();
+        }
+
+        @Override
+        public long next() {
+            return book.guess(book.next(OpeningBook.ROOT, opening, result));
+        }
+
+        @Override
+        public int bestGuesses() {
+            solver.reset();
+            return solver.bestGuesses(1).size();
+        }
+    }
+}
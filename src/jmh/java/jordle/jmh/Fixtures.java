@@ -0,0 +1,151 @@
+package jordle.jmh;
+
+/**
+ * The engine fixtures the benchmarks run against, one interface per kind of work.
+ *
+ * The game engine lives in the default package, which JMH does not accept for benchmarks
+ * and which code in a package cannot name. So every benchmark state holds one of these
+ * interfaces, implemented next to the engine by the JmhFixtures class and created by name,
+ * and every benchmark method makes one call into it. JMH runs each benchmark in its own
+ * forked JVM, so those call sites only ever see one implementation and are inlined.
+ *
+ * Each operation returns a value that depends on its work, for JMH to consume.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public final class Fixtures {
+    private Fixtures() {
+    }
+
+    /**
+     * Creates the engine's implementation of a fixture.
+     *
+     * @param type the fixture interface
+     * @param <T> the fixture type
+     * @return a new fixture
+     * @throws IllegalStateException if the engine has no such fixture
+     */
+    static <T> T create(Class<T> type) {
+        try {
+            Class<?> fixture = Class.forName("JmhFixtures$" + type.getSimpleName());
+            return type.cast(fixture.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException roe) {
+            throw new IllegalStateException("No fixture for " + type.getSimpleName(), roe);
+        }
+    }
+
+    /**
+     * Scoring a guess, from the bare Scorer up to a whole move of a game.
+     */
+    public interface Scoring {
+        /**
+         * @param word a word
+         * @return the word packed for {@link #score(long, long)}
+         */
+        long encode(String word);
+
+        /**
+         * @param guessCode the packed guess
+         * @param targetCode the packed target
+         * @return the base-3 feedback pattern
+         */
+        int score(long guessCode, long targetCode);
+
+        /**
+         * @return the length of Backend.check's result for a valid guess
+         */
+        int check();
+
+        /**
+         * @return Backend.checkPattern's result
+         */
+        int checkPattern();
+
+        /**
+         * @return the last pattern of one MultiBackend.check against eight boards
+         */
+        int checkBoards();
+
+        /**
+         * @return the pattern an Adversary answers with over every answer
+         */
+        int respond();
+
+        /**
+         * @return a value recorded into a histogram of the fixture's own
+         */
+        long record();
+
+        /**
+         * @return the result of typing and submitting a row of a GameState
+         */
+        int move();
+    }
+
+    /**
+     * Loading words and starting games.
+     */
+    public interface Words {
+        /**
+         * @return the target length of a new Backend
+         */
+        int newBackend();
+
+        /**
+         * @return the target length after a Backend.reset
+         */
+        int reset();
+
+        /**
+         * @return the number of words read by Dictionary.load
+         */
+        int load();
+
+        /**
+         * @return whether Dictionary.isAllowed finds a word in the list
+         */
+        boolean isAllowedHit();
+
+        /**
+         * @return whether Dictionary.isAllowed finds a word not in the list
+         */
+        boolean isAllowedMiss();
+    }
+
+    /**
+     * Guesses against the many concurrent sessions of a GameServer.
+     */
+    public interface Sessions {
+        /**
+         * @return the length of one GameSession.guess result in a random session, or 0 if
+         *         the session's game was over and it was reset instead
+         */
+        int guess();
+    }
+
+    /**
+     * The hint solver and the tables behind it.
+     */
+    public interface Solving {
+        /**
+         * @return one FeedbackMatrix lookup
+         */
+        int pattern();
+
+        /**
+         * @return the answers left after one Solver.addResult from the start
+         */
+        int addResult();
+
+        /**
+         * @return the guess after one OpeningBook.next from the root
+         */
+        long next();
+
+        /**
+         * @return the number of guesses from Solver.bestGuesses at the start
+         */
+        int bestGuesses();
+    }
+}
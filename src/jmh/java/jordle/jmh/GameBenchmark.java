@@ -0,0 +1,86 @@
+package jordle.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checking guesses through the backends, the adversary and a headless game, and recording
+ * a latency, which must stay allocation-free.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+    private Fixtures.Scoring fixture;
+
+    /**
+     * Builds the fixture in the benchmark's own JVM.
+     */
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.create(Fixtures.Scoring.class);
+    }
+
+    /**
+     * @return the length of Backend.check's result
+     */
+    @Benchmark
+    public int backendCheck() {
+        return fixture.check();
+    }
+
+    /**
+     * @return Backend.checkPattern's result
+     */
+    @Benchmark
+    public int backendCheckPattern() {
+        return fixture.checkPattern();
+    }
+
+    /**
+     * @return the last pattern of MultiBackend.check against eight boards
+     */
+    @Benchmark
+    public int multiBackendCheck() {
+        return fixture.checkBoards();
+    }
+
+    /**
+     * @return the Adversary's pattern over every answer
+     */
+    @Benchmark
+    public int adversaryRespond() {
+        return fixture.respond();
+    }
+
+    /**
+     * @return the histogram's max after recording
+     */
+    @Benchmark
+    public long histogramRecord() {
+        return fixture.record();
+    }
+
+    /**
+     * @return the result of submitting a row
+     */
+    @Benchmark
+    public int gameStateMove() {
+        return fixture.move();
+    }
+}
@@ -0,0 +1,54 @@
+package jordle.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scoring one guess against one target, with plain words and duplicate-letter edge cases.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScoreBenchmark {
+    @Param({"stack/array", "geese/eerie", "llama/hello", "aaaaa/abbey", "stage/stage"})
+    public String pair;
+
+    private Fixtures.Scoring fixture;
+    private long guessCode;
+    private long targetCode;
+
+    /**
+     * Builds the fixture in the benchmark's own JVM and packs the pair.
+     */
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.create(Fixtures.Scoring.class);
+        String[] words = pair.split("/");
+        guessCode = fixture.encode(words[0]);
+        targetCode = fixture.encode(words[1]);
+    }
+
+    /**
+     * @return the pattern of the guess against the target
+     */
+    @Benchmark
+    public int score() {
+        return fixture.score(guessCode, targetCode);
+    }
+}
@@ -0,0 +1,49 @@
+package jordle.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Guesses from four threads at once into random sessions among 50000, the load a
+ * GameServer is sized for. Sampled, so the p0.99 line of the results is the per-guess
+ * p99, which should stay under 1 ms.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class SessionBenchmark {
+    private Fixtures.Sessions fixture;
+
+    /**
+     * Builds the sessions in the benchmark's own JVM.
+     */
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.create(Fixtures.Sessions.class);
+    }
+
+    /**
+     * @return the length of the guess's result
+     */
+    @Benchmark
+    public int sessionGuess() {
+        return fixture.guess();
+    }
+}
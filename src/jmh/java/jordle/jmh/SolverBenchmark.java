@@ -0,0 +1,70 @@
+package jordle.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The hint solver and the precomputed tables behind it. Solver.bestGuesses scores guesses
+ * on the common fork-join pool, whose allocations the GC profiler counts as well.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolverBenchmark {
+    private Fixtures.Solving fixture;
+
+    /**
+     * Builds the fixture in the benchmark's own JVM.
+     */
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.create(Fixtures.Solving.class);
+    }
+
+    /**
+     * @return one matrix lookup
+     */
+    @Benchmark
+    public int feedbackMatrixPattern() {
+        return fixture.pattern();
+    }
+
+    /**
+     * @return the answers left after one result
+     */
+    @Benchmark
+    public int solverAddResult() {
+        return fixture.addResult();
+    }
+
+    /**
+     * @return the book's second guess
+     */
+    @Benchmark
+    public long openingBookNext() {
+        return fixture.next();
+    }
+
+    /**
+     * @return the number of guesses found
+     */
+    @Benchmark
+    public int solverBestGuesses() {
+        return fixture.bestGuesses();
+    }
+}
@@ -0,0 +1,77 @@
+package jordle.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading the word list, starting games and checking that guesses are allowed.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WordsBenchmark {
+    private Fixtures.Words fixture;
+
+    /**
+     * Builds the fixture in the benchmark's own JVM.
+     */
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.create(Fixtures.Words.class);
+    }
+
+    /**
+     * @return the target length of a new Backend
+     */
+    @Benchmark
+    public int backendNew() {
+        return fixture.newBackend();
+    }
+
+    /**
+     * @return the target length after a reset
+     */
+    @Benchmark
+    public int backendReset() {
+        return fixture.reset();
+    }
+
+    /**
+     * @return the number of words read
+     */
+    @Benchmark
+    public int dictionaryLoad() {
+        return fixture.load();
+    }
+
+    /**
+     * @return true, for a word in the list
+     */
+    @Benchmark
+    public boolean isAllowedHit() {
+        return fixture.isAllowedHit();
+    }
+
+    /**
+     * @return false, for a word not in the list
+     */
+    @Benchmark
+    public boolean isAllowedMiss() {
+        return fixture.isAllowedMiss();
+    }
+}
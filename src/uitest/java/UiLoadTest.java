@@ -0,0 +1,325 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load test of the Jordle UI: replays key presses through
+ * {@link Jordle#keyPressAction(KeyEvent)} as fast as the FX thread takes them.
+ *
+ * A driver thread hands the FX thread one prebuilt KeyEvent at a time and times how long
+ * keyPressAction holds it. An AnimationTimer meanwhile records the interval between pulses,
+ * so work pushed onto later frames shows up as frame pacing. A key press still held after
+ * half a second is checked for a showing modal window: one waiting on the invalid word
+ * dialog has it dismissed and is left out of the latency figures, while any other slow key
+ * press is recorded like the rest. The run fails if the p99 key latency is over budget.
+ *
+ * The keys come from a game log (--replay=FILE, each guess typed then ENTER, and "1" after
+ * every game), a script (--keys=FILE, words, ENTER, BACK_SPACE and digits separated by
+ * spaces, # for comments) or else are made up from words.txt with typos, invalid words,
+ * and the odd "2" for the instructions. Jordle's own options, such as --boards, still apply.
+ *
+ * Usage: gradle uiLoadTest -PuiArgs="[--replay=FILE | --keys=FILE] [--events=N] [--warmup=N]
+ * [--budget-ms=N] [Jordle options]"
+ *
+ * The task runs the test on Monocle's headless platform with software rendering, and the
+ * build fails when the test exits with 1 for being over budget or 2 for having no keys.
+ *
+ * @author Pattakit Charoensedtakul
+ * @version 1.0
+ */
+public class UiLoadTest extends Jordle {
+    private static final int DEFAULT_EVENTS = 20_000;
+    private static final int DEFAULT_WARMUP = 5_000;
+    private static final double DEFAULT_BUDGET_MILLIS = 16;
+    private static final long DIALOG_WAIT_MILLIS = 500;
+    // Two frames at 60 Hz: a pulse this late means a frame was dropped
+    private static final long JANK_NANOS = 2_000_000_000L / 60;
+    private static final int SYNTHETIC_GAMES = 500;
+
+    private final Metrics.Histogram latency = new Metrics.Histogram("keyPress");
+    private final Metrics.Histogram frames = new Metrics.Histogram("frame");
+    private final Semaphore handled = new Semaphore(0);
+    private Stage stage;
+
+    // Written on the FX thread before handled is released
+    private long eventNanos;
+    private volatile boolean measuring = false;
+    private int jankyFrames;
+
+    /**
+     * Starts the game, then the driver thread.
+     *
+     * @param stage the primary stage
+     * @throws IOException if the game cannot start
+     */
+    @Override
+    public void start(Stage stage) throws IOException {
+        super.start(stage);
+        this.stage = stage;
+        Thread driver = new Thread(this::drive, "jordle-load-test");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    private void drive() {
+        Map<String, String> named = getParameters().getNamed();
+        int events = Integer.parseInt(named.getOrDefault("events", String.valueOf(DEFAULT_EVENTS)));
+        int warmup = Integer.parseInt(named.getOrDefault("warmup", String.valueOf(DEFAULT_WARMUP)));
+        double budgetMillis = named.containsKey("budget-ms")
+            ? Double.parseDouble(named.get("budget-ms")) : DEFAULT_BUDGET_MILLIS;
+
+        List<KeyEvent> keys;
+        try {
+            if (named.containsKey("replay")) {
+                keys = fromLog(named.get("replay"));
+            } else if (named.containsKey("keys")) {
+                keys = fromScript(named.get("keys"));
+            } else {
+                keys = synthetic(named.get("length"));
+            }
+        } catch (IOException ioe) {
+            System.out.println("Error in reading key events: " + ioe.getMessage());
+            finish(2);
+            return;
+        }
+        if (keys.isEmpty()) {
+            System.out.println("No key events to replay");
+            finish(2);
+            return;
+        }
+
+        // Step 1: Leave the welcome scene the way a player does
+        runAndWait(() -> Event.fireEvent(stage.getScene(), key(KeyCode.ENTER, "")));
+
+        // Step 2: Record the pulse intervals while measuring
+        AnimationTimer pacing = new AnimationTimer() {
+            private long last = 0;
+
+            @Override
+            public void handle(long now) {
+                if (measuring && last != 0) {
+                    frames.record(now - last);
+                    if (now - last > JANK_NANOS) {
+                        jankyFrames++;
+                    }
+                }
+                last = now;
+            }
+        };
+        runAndWait(pacing::start);
+
+        // Step 3: Replay the keys, one event on the FX thread at a time
+        int dialogs = 0;
+        long start = 0;
+        for (int i = 0; i < warmup + events; i++) {
+            if (i == warmup) {
+                measuring = true;
+                start = System.nanoTime();
+            }
+            KeyEvent event = keys.get(i % keys.size());
+            Platform.runLater(() -> {
+                long eventStart = System.nanoTime();
+                keyPressAction(event);
+                eventNanos = System.nanoTime() - eventStart;
+                handled.release();
+            });
+            boolean blocked = false;
+            if (!tryAcquire()) {
+                // A dialog's showAndWait runs the check in its own event loop; after a slow event
+                // with no dialog the check only runs once the event is done, and finds nothing
+                boolean[] closed = new boolean[1];
+                runAndWait(() -> closed[0] = closeDialogs());
+                handled.acquireUninterruptibly();
+                blocked = closed[0];
+            }
+            if (!measuring) {
+                continue;
+            } else if (blocked) {
+                dialogs++;
+            } else {
+                latency.record(eventNanos);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        measuring = false;
+        runAndWait(pacing::stop);
+
+        // Step 4: Report and check the budget
+        System.out.printf(Locale.ROOT, "%d key events in %.2f s (%.0f per second), %d dismissed a dialog%n",
+            events, elapsed / 1e9, events / (elapsed / 1e9), dialogs);
+        System.out.printf(Locale.ROOT, "%-16s %10s %10s %10s %10s %10s %10s%n",
+            "us", "count", "p50", "p90", "p99", "p99.9", "max");
+        print("keyPress", latency);
+        print("frame", frames);
+        System.out.println("Frames over " + JANK_NANOS / 1_000_000 + " ms: " + jankyFrames);
+
+        double p99Millis = latency.percentile(99) / 1e6;
+        boolean pass = p99Millis <= budgetMillis;
+        System.out.printf(Locale.ROOT, "%s: p99 key latency %.3f ms, budget %.3f ms%n",
+            pass ? "PASS" : "FAIL", p99Millis, budgetMillis);
+        finish(pass ? 0 : 1);
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return handled.tryAcquire(DIALOG_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Hides every modal window that is showing, such as the invalid word Alert
+    private static boolean closeDialogs() {
+        boolean closed = false;
+        for (Window window : new ArrayList<>(Window.getWindows())) {
+            if (window.isShowing() && window instanceof Stage && ((Stage) window).getModality() != Modality.NONE) {
+                window.hide();
+                closed = true;
+            }
+        }
+        return closed;
+    }
+
+    private static void print(String name, Metrics.Histogram histogram) {
+        System.out.printf(Locale.ROOT, "%-16s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+            name, histogram.count(),
+            histogram.percentile(50) / 1e3, histogram.percentile(90) / 1e3,
+            histogram.percentile(99) / 1e3, histogram.percentile(99.9) / 1e3, histogram.max() / 1e3);
+    }
+
+    private void finish(int status) {
+        runAndWait(this::stop);
+        System.exit(status);
+    }
+
+    private static void runAndWait(Runnable action) {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Every guess of every logged game, then 1 to start the next
+    private static List<KeyEvent> fromLog(String file) throws IOException {
+        List<KeyEvent> keys = new ArrayList<>();
+        GameLog.Record record = new GameLog.Record();
+        try (GameLog.Reader reader = new GameLog.Reader(Paths.get(file))) {
+            while (reader.next(record)) {
+                for (int i = 0; i < record.guessCount(); i++) {
+                    type(keys, Scorer.decode(record.guess(i)));
+                    keys.add(key(KeyCode.ENTER, ""));
+                }
+                keys.add(digit('1'));
+            }
+        }
+        return keys;
+    }
+
+    private static List<KeyEvent> fromScript(String file) throws IOException {
+        List<KeyEvent> keys = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(file))) {
+            int comment = line.indexOf('#');
+            String text = comment >= 0 ? line.substring(0, comment) : line;
+            for (String token : text.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                } else if (token.equals("ENTER")) {
+                    keys.add(key(KeyCode.ENTER, ""));
+                } else if (token.equals("BACK_SPACE")) {
+                    keys.add(key(KeyCode.BACK_SPACE, ""));
+                } else if (token.length() == 1 && Character.isDigit(token.charAt(0))) {
+                    keys.add(digit(token.charAt(0)));
+                } else {
+                    type(keys, token.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Games of random dictionary words, with the mistakes players make
+    private static List<KeyEvent> synthetic(String lengthParameter) {
+        int length = lengthParameter == null ? Scorer.WORD_LENGTH : Integer.parseInt(lengthParameter);
+        if (length < Scorer.MIN_LENGTH || length > Scorer.MAX_LENGTH || Dictionary.get().size(length) == 0) {
+            length = Scorer.WORD_LENGTH;
+        }
+        long[] words = Dictionary.get().codes(length);
+        Random random = new Random(1331);
+        List<KeyEvent> keys = new ArrayList<>();
+        for (int game = 0; game < SYNTHETIC_GAMES; game++) {
+            for (int guess = 0; guess < GameState.DEFAULT_ROWS; guess++) {
+                String word = Scorer.decode(words[random.nextInt(words.length)]);
+                for (int i = 0; i < word.length(); i++) {
+                    if (random.nextInt(20) == 0) {
+                        // A typo, taken back
+                        type(keys, String.valueOf((char) ('a' + random.nextInt(26))));
+                        keys.add(key(KeyCode.BACK_SPACE, ""));
+                    }
+                    type(keys, word.substring(i, i + 1));
+                }
+                if (random.nextInt(50) == 0) {
+                    // A word that is too short
+                    keys.add(key(KeyCode.BACK_SPACE, ""));
+                }
+                keys.add(key(KeyCode.ENTER, ""));
+            }
+            if (random.nextInt(50) == 0) {
+                keys.add(digit('2'));
+            }
+            keys.add(digit('1'));
+        }
+        return keys;
+    }
+
+    private static void type(List<KeyEvent> keys, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            KeyCode code = KeyCode.getKeyCode(String.valueOf(Character.toUpperCase(c)));
+            keys.add(key(code == null ? KeyCode.UNDEFINED : code, String.valueOf(c)));
+        }
+    }
+
+    private static KeyEvent digit(char c) {
+        return key(KeyCode.getKeyCode(String.valueOf(c)), String.valueOf(c));
+    }
+
+    private static KeyEvent key(KeyCode code, String text) {
+        return new KeyEvent(KeyEvent.KEY_PRESSED, text, text, code, false, false, false, false);
+    }
+
+    /**
+     * Runs the load test on the platform the glass.platform property chooses.
+     *
+     * @param args the options
+     */
+    public static void main(String[] args) {
+        Application.launch(UiLoadTest.class, args);
+    }
+}